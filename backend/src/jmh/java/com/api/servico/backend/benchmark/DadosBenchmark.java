@@ -0,0 +1,53 @@
+package com.api.servico.backend.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Gera serviços sintéticos, com semente fixa para que as execuções sejam comparáveis.
+ */
+public final class DadosBenchmark {
+
+    private static final String[] CLIENTES = { "Maria Souza", "José Antônio", "Ana Paula Lima", "Carlos Pereira",
+            "Fernanda Costa", "João Ribeiro" };
+    private static final String[] DESCRICOES = { "Pintura de parede", "Troca de tomadas e disjuntores",
+            "Instalação de ar-condicionado", "Conserto de vazamento na cozinha", "Montagem de móveis planejados" };
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * @param quantidade Quantidade de serviços.
+     * @param comId      Se os serviços já devem vir com ID (para serialização) ou sem (para inserção).
+     */
+    public static List<Servico> servicos(int quantidade, boolean comId) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        List<Servico> servicos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            LocalDate inicio = base.plusDays(random.nextInt(365));
+            long valor = 5_000 + random.nextInt(500_000);
+            int situacao = random.nextInt(10);
+            Long pago = null;
+            if (situacao < 6) {
+                pago = valor;
+            } else if (situacao < 8) {
+                pago = 0L;
+            }
+            Servico servico = new Servico(comId ? (long) i + 1 : null, CLIENTES[random.nextInt(CLIENTES.length)],
+                    inicio, inicio.plusDays(random.nextInt(30)), DESCRICOES[random.nextInt(DESCRICOES.length)],
+                    valor, pago, pago != null && pago > 0 ? inicio.plusDays(random.nextInt(60)) : null,
+                    pago != null && pago > 0 ? StatusServico.REALIZADO : situacao == 9 ? StatusServico.CANCELADO : StatusServico.PENDENTE);
+            if (comId) {
+                servico.setVersao(0L);
+            }
+            servicos.add(servico);
+        }
+        return servicos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.api.servico.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.api.servico.backend.BackendApplication;
+
+/**
+ * Tempo de subida da aplicação, do início até ela aceitar tráfego (ReadinessState.ACCEPTING_TRAFFIC,
+ * publicado depois dos listeners de ApplicationReadyEvent), com o Tomcat e o H2 dos testes.
+ * A carga do índice de busca e a reclassificação de atrasos seguem em segundo plano e ficam fora
+ * da medição. Cada medição roda em uma JVM nova (partida a frio), como num deploy.
+ * <p>
+ * Nos dois perfis o esquema vem das migrations do Flyway, como no MySQL; "padrao" valida
+ * o esquema pelo Hibernate como application.properties, "producao" usa application-producao.
+ * Para medir com o AOT ou o arquivo CDS, acrescente as opções da JVM em -jvmArgsAppend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class InicializacaoBenchmark {
+
+    @Param({ "padrao", "producao" })
+    private String perfil;
+
+    private ConfigurableApplicationContext contexto;
+
+    @Benchmark
+    public ConfigurableApplicationContext subir() {
+        List<String> argumentos = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+                "--spring.flyway.enabled=true", "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"));
+        if ("producao".equals(perfil)) {
+            argumentos.add("--spring.profiles.active=producao");
+        } else {
+            argumentos.add("--spring.jpa.hibernate.ddl-auto=validate");
+        }
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+                .properties("spring.devtools.restart.enabled=false",
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                .run(argumentos.toArray(String[]::new));
+        ReadinessState prontidao = contexto.getBean(ApplicationAvailability.class).getReadinessState();
+        if (prontidao != ReadinessState.ACCEPTING_TRAFFIC) {
+            throw new IllegalStateException("Application not ready after startup: " + prontidao);
+        }
+        return contexto;
+    }
+
+    @TearDown(Level.Iteration)
+    public void encerrar() {
+        contexto.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.api.servico.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.api.servico.backend.entity.Servico;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Custo de serializar em JSON as páginas devolvidas pelas listagens, como o Spring MVC faz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoPaginaBenchmark {
+
+    @Param({ "15", "100", "500" })
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<Servico> pagina;
+
+    @Setup
+    public void preparar() {
+        // Mesma configuração aplicada pelo JacksonAutoConfiguration
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Servico> servicos = DadosBenchmark.servicos(tamanhoPagina, true);
+        pagina = new PageImpl<>(servicos, PageRequest.of(0, tamanhoPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina.getContent());
+    }
+}
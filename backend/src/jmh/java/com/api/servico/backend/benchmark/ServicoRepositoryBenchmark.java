@@ -0,0 +1,132 @@
+package com.api.servico.backend.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.api.servico.backend.BackendApplication;
+import com.api.servico.backend.dto.ResumoServico;
+import com.api.servico.backend.dto.TotalStatus;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.repository.ServicoRepository;
+import com.api.servico.backend.service.LoteService;
+import com.api.servico.backend.service.ServicoService;
+
+/**
+ * Consultas do repositório contra o H2 em memória dos testes (modo MySQL), com a tabela populada.
+ * Não substitui a medição no MySQL, mas acusa regressões de plano e de mapeamento entre versões.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoRepositoryBenchmark {
+
+    private static final int TAMANHO_PAGINA = 15;
+    private static final int PAGINA_PROFUNDA = 1000;
+    private static final int LOTE_CARGA = 5000;
+
+    @Param({ "20000" })
+    private int quantidade;
+
+    private ConfigurableApplicationContext contexto;
+    private ServicoRepository servicoRepository;
+    private ServicoService servicoService;
+    private Long idInicioPaginaProfunda;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.devtools.restart.enabled=false", "logging.level.root=WARN",
+                        // O devtools executa SHUTDOWN no H2 antes de o pool fechar, gerando avisos no TearDown
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                .run();
+        servicoRepository = contexto.getBean(ServicoRepository.class);
+        servicoService = contexto.getBean(ServicoService.class);
+        LoteService loteService = contexto.getBean(LoteService.class);
+        List<Servico> servicos = DadosBenchmark.servicos(quantidade, false);
+        for (int i = 0; i < servicos.size(); i += LOTE_CARGA) {
+            loteService.inserir(servicos.subList(i, Math.min(i + LOTE_CARGA, servicos.size())));
+        }
+        idInicioPaginaProfunda = servicoRepository
+                .findAll(PageRequest.of(PAGINA_PROFUNDA, TAMANHO_PAGINA))
+                .getContent().get(0).getId() - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    /** Entidades completas, como as listagens devolviam antes dos resumos. */
+    @Benchmark
+    public Page<Servico> paginaInicialEntidades() {
+        return servicoRepository.findAll(PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<ResumoServico> paginaInicial() {
+        return servicoRepository.listarResumos(false, PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<ResumoServico> paginaInicialComDescricao() {
+        return servicoRepository.listarResumos(true, PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<ResumoServico> paginaProfundaPorOffset() {
+        return servicoRepository.listarResumos(false, PageRequest.of(PAGINA_PROFUNDA, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<ResumoServico> paginaProfundaPorCursor() {
+        return servicoRepository.buscarTodosAposId(false, idInicioPaginaProfunda, Limit.of(TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<ResumoServico> pagamentoPendente() {
+        return servicoRepository.buscarServicosPagamentoPendente(false, PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<TotalStatus> totalizarPorStatus() {
+        return servicoRepository.totalizarPorStatus();
+    }
+
+    @Benchmark
+    public Optional<Servico> buscarPorIdNoRepositorio() {
+        return servicoRepository.findById(1L + random.nextInt(quantidade));
+    }
+
+    /** Inclui o cache de serviços: mostra o ganho sobre buscarPorIdNoRepositorio. */
+    @Benchmark
+    public Servico buscarPorIdNoServico() {
+        return servicoService.buscarPorId(1L + random.nextInt(quantidade));
+    }
+}
@@ -0,0 +1,284 @@
+package com.api.servico.backend.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.api.servico.backend.BackendApplication;
+import com.api.servico.backend.service.ResumoDiarioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Teste de carga HTTP da API de serviços: popula o banco com GeradorServicos, dispara a mistura
+ * de CenarioCarga por um tempo fixo e relata a vazão e as latências (p50, p90, p99) de cada cenário.
+ * <p>
+ * Sem --url, sobe a aplicação nesta JVM com o H2 em memória dos testes e o limite de requisições
+ * desligado, e gera os dados antes de a aplicação ficar pronta (o índice de busca e as faixas de
+ * atraso são carregados em seguida, como numa subida com a tabela cheia). Com --url, dirige um
+ * servidor já em execução, sem gerar dados. Os demais argumentos vão para a aplicação.
+ * <p>
+ * Opções (--nome=valor): linhas (1000000), clientes (50000), semente (42), conexoes (8),
+ * aquecimento (10s), duracao (60s), cenarios (ex.: listar:20,buscar_por_id:30; os omitidos não rodam)
+ * e taxa, em requisições por segundo. Sem taxa, cada conexão envia a próxima requisição assim que
+ * recebe a resposta. Com taxa, as requisições seguem um horário fixo e a latência é contada a
+ * partir do horário previsto, incluindo a espera quando o servidor fica para trás.
+ */
+public final class Carga {
+
+    private static final double[] PERCENTIS = { 0.5, 0.9, 0.99, 0.999 };
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<CenarioCarga, Integer> pesos;
+    private final int pesoTotal;
+    private final int conexoes;
+    private final double taxa;
+    private final Duration aquecimento;
+    private final Duration duracao;
+    private final AtomicLong proximaRequisicao = new AtomicLong();
+
+    private Carga(Map<CenarioCarga, Integer> pesos, int conexoes, double taxa, Duration aquecimento,
+            Duration duracao) {
+        this.pesos = pesos;
+        this.pesoTotal = pesos.values().stream().mapToInt(Integer::intValue).sum();
+        if (pesoTotal <= 0) {
+            throw new IllegalArgumentException("At least one scenario must have a positive weight");
+        }
+        this.conexoes = conexoes;
+        this.taxa = taxa;
+        this.aquecimento = aquecimento;
+        this.duracao = duracao;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource opcoes = new SimpleCommandLinePropertySource(args);
+        GeradorServicos gerador = new GeradorServicos(Long.parseLong(opcao(opcoes, "semente", "42")),
+                Integer.parseInt(opcao(opcoes, "clientes", "50000")), LocalDate.now());
+        String url = opcoes.getProperty("url");
+        ConfigurableApplicationContext contexto = null;
+        if (url == null) {
+            // Na thread main o devtools reiniciaria a aplicação (e este main) num classloader próprio
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            contexto = new SpringApplicationBuilder(BackendApplication.class)
+                    .properties("logging.level.root=WARN", "server.port=0",
+                            "servico.limite.habilitado=false",
+                            "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                    .listeners(new Populador(gerador, Integer.parseInt(opcao(opcoes, "linhas", "1000000"))))
+                    .run(args);
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            Carga carga = new Carga(pesos(opcoes.getProperty("cenarios")),
+                    Integer.parseInt(opcao(opcoes, "conexoes", "8")),
+                    Double.parseDouble(opcao(opcoes, "taxa", "0")),
+                    DurationStyle.detectAndParse(opcao(opcoes, "aquecimento", "10s")),
+                    DurationStyle.detectAndParse(opcao(opcoes, "duracao", "60s")));
+            carga.executar(URI.create(url), gerador, Long.parseLong(opcao(opcoes, "semente", "42")));
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    private void executar(URI base, GeradorServicos gerador, long semente) throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        long totalServicos = contarServicos(base, json);
+        System.out.printf(Locale.ROOT, "Carga em %s: %d servicos, %d conexoes, %s, aquecimento %ds, medicao %ds%n",
+                base, totalServicos, conexoes, taxa > 0 ? taxa + " req/s" : "malha fechada",
+                aquecimento.toSeconds(), duracao.toSeconds());
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        SplittableRandom random = new SplittableRandom(semente);
+        ExecutorService threads = Executors.newFixedThreadPool(conexoes);
+        List<Future<Map<CenarioCarga, Latencias>>> resultados = new ArrayList<>();
+        for (int i = 0; i < conexoes; i++) {
+            Roteiro roteiro = new Roteiro(base, random.split(), gerador, json, totalServicos);
+            resultados.add(threads.submit(() -> trabalhar(roteiro, inicio, inicioMedicao, fim)));
+        }
+        Map<CenarioCarga, Latencias> total = new EnumMap<>(CenarioCarga.class);
+        try {
+            for (Future<Map<CenarioCarga, Latencias>> resultado : resultados) {
+                resultado.get().forEach((cenario, latencias) ->
+                        total.computeIfAbsent(cenario, c -> new Latencias()).somar(latencias));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        relatar(total, (System.nanoTime() - inicioMedicao) / 1e9);
+    }
+
+    private Map<CenarioCarga, Latencias> trabalhar(Roteiro roteiro, long inicio, long inicioMedicao, long fim)
+            throws InterruptedException {
+        Map<CenarioCarga, Latencias> resultado = new EnumMap<>(CenarioCarga.class);
+        long periodo = taxa > 0 ? (long) (1e9 / taxa) : 0;
+        while (true) {
+            long envio = periodo > 0 ? inicio + proximaRequisicao.getAndIncrement() * periodo : System.nanoTime();
+            if (envio >= fim) {
+                return resultado;
+            }
+            aguardar(envio);
+            CenarioCarga cenario = sortear(roteiro.random);
+            Latencias latencias = resultado.computeIfAbsent(cenario, c -> new Latencias());
+            try {
+                HttpRequest requisicao = cenario.requisicao(roteiro)
+                        .header("Accept", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                HttpResponse<byte[]> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+                long latencia = System.nanoTime() - envio;
+                if (envio >= inicioMedicao) {
+                    latencias.registrar(latencia, resposta.statusCode());
+                }
+                cenario.aoResponder(roteiro, resposta);
+            } catch (IOException e) {
+                roteiro.cursor = null;
+                if (envio >= inicioMedicao) {
+                    latencias.falhar();
+                }
+            }
+        }
+    }
+
+    private CenarioCarga sortear(SplittableRandom random) {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Map.Entry<CenarioCarga, Integer> peso : pesos.entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0) {
+                return peso.getKey();
+            }
+        }
+        throw new IllegalStateException("No scenario selected");
+    }
+
+    private static void aguardar(long instante) throws InterruptedException {
+        long espera;
+        while ((espera = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(espera);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de serviços no banco, pela contagem por status; com os dados do gerador,
+     * os IDs vão de 1 até ela.
+     */
+    private long contarServicos(URI base, ObjectMapper json) throws IOException, InterruptedException {
+        HttpResponse<byte[]> resposta = http.send(HttpRequest.newBuilder(base.resolve("/api/relatorios/contagem")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Could not count services at " + base + ": HTTP " + resposta.statusCode());
+        }
+        long total = 0;
+        for (JsonNode contagem : json.readTree(resposta.body())) {
+            total += contagem.path("quantidade").asLong();
+        }
+        return total;
+    }
+
+    private static void relatar(Map<CenarioCarga, Latencias> resultados, double segundos) {
+        System.out.printf(Locale.ROOT, "%n%-14s %11s %7s %7s %9s %9s %9s %9s %9s %9s%n", "cenario", "requisicoes",
+                "erros", "429", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Latencias todas = new Latencias();
+        resultados.forEach((cenario, latencias) -> {
+            todas.somar(latencias);
+            linha(cenario.name().toLowerCase(Locale.ROOT), latencias, segundos);
+        });
+        linha("total", todas, segundos);
+    }
+
+    private static void linha(String nome, Latencias latencias, double segundos) {
+        latencias.ordenar();
+        System.out.printf(Locale.ROOT, "%-14s %11d %7d %7d %9.1f", nome, latencias.getQuantidade(),
+                latencias.getErros(), latencias.getRecusadas(), latencias.getQuantidade() / segundos);
+        for (double percentil : PERCENTIS) {
+            System.out.printf(Locale.ROOT, " %9.2f", latencias.percentil(percentil) / 1e6);
+        }
+        System.out.printf(Locale.ROOT, " %9.2f%n", latencias.maximo() / 1e6);
+    }
+
+    private static Map<CenarioCarga, Integer> pesos(String cenarios) {
+        Map<CenarioCarga, Integer> pesos = new EnumMap<>(CenarioCarga.class);
+        if (cenarios == null) {
+            for (CenarioCarga cenario : CenarioCarga.values()) {
+                pesos.put(cenario, cenario.getPeso());
+            }
+            return pesos;
+        }
+        for (String item : cenarios.split(",")) {
+            String[] partes = item.trim().split(":");
+            CenarioCarga cenario = CenarioCarga.valueOf(partes[0].toUpperCase(Locale.ROOT));
+            pesos.put(cenario, partes.length > 1 ? Integer.parseInt(partes[1]) : cenario.getPeso());
+        }
+        return pesos;
+    }
+
+    private static String opcao(SimpleCommandLinePropertySource opcoes, String nome, String padrao) {
+        String valor = opcoes.getProperty(nome);
+        return valor == null ? padrao : valor;
+    }
+
+    /**
+     * Gera os dados depois da criação do esquema e antes de a aplicação ficar pronta, e recalcula
+     * o resumo diário a partir deles.
+     */
+    private static final class Populador implements ApplicationListener<ApplicationStartedEvent> {
+
+        private final GeradorServicos gerador;
+        private final int linhas;
+
+        Populador(GeradorServicos gerador, int linhas) {
+            this.gerador = gerador;
+            this.linhas = linhas;
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationStartedEvent evento) {
+            long inicio = System.nanoTime();
+            try {
+                gerador.inserir(evento.getApplicationContext().getBean(DataSource.class), linhas);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not generate services", e);
+            }
+            evento.getApplicationContext().getBean(ResumoDiarioService.class).reconstruir();
+            System.out.printf(Locale.ROOT, "%d servicos gerados em %.1f s%n", linhas, (System.nanoTime() - inicio) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.api.servico.backend.carga;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Requisições da carga, cada uma imitando um uso da API de serviços. A mistura padrão
+ * (pesos) reproduz um uso dominado por consultas, com uma fração pequena de inserções.
+ */
+enum CenarioCarga {
+
+    /** Primeiras páginas da listagem, com peso maior para a primeira. */
+    LISTAR(20) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            int pagina = (int) Math.min(9, -Math.log(1 - roteiro.random.nextDouble()) * 1.5);
+            return get(roteiro, "/api/servicos?page=" + pagina + "&size=" + TAMANHO_PAGINA);
+        }
+    },
+    BUSCAR_POR_ID(30) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            return get(roteiro, "/api/servicos/" + roteiro.id());
+        }
+    },
+    /** Navega por algumas páginas de uma listagem por cursor antes de começar outra. */
+    CURSOR(10) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            if (roteiro.cursor == null) {
+                roteiro.listagemCursor = LISTAGENS_CURSOR[roteiro.random.nextInt(LISTAGENS_CURSOR.length)];
+                roteiro.paginasCursor = 0;
+            }
+            String caminho = roteiro.listagemCursor + "?size=" + TAMANHO_PAGINA;
+            if (roteiro.cursor != null) {
+                caminho += "&cursor=" + URLEncoder.encode(roteiro.cursor, StandardCharsets.UTF_8);
+            }
+            return get(roteiro, caminho);
+        }
+
+        @Override
+        void aoResponder(Roteiro roteiro, HttpResponse<byte[]> resposta) throws IOException {
+            String proximo = null;
+            if (resposta.statusCode() == 200 && ++roteiro.paginasCursor < PAGINAS_CURSOR) {
+                proximo = roteiro.json.readTree(resposta.body()).path("proximoCursor").textValue();
+            }
+            roteiro.cursor = proximo;
+        }
+    },
+    PENDENTES(10) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            return get(roteiro, "/api/servicos/pagamentopendente?page=0&size=" + TAMANHO_PAGINA);
+        }
+    },
+    /** Uma semana recente, por data de início, término ou pagamento. */
+    PERIODO(10) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            LocalDate fim = LocalDate.now().minusDays(roteiro.gerador.idade(roteiro.random));
+            return get(roteiro, CONSULTAS_PERIODO[roteiro.random.nextInt(CONSULTAS_PERIODO.length)]
+                    + "?startDate=" + fim.minusDays(6) + "&endDate=" + fim);
+        }
+    },
+    /** Sobrenome de um cliente ou um termo das descrições. */
+    BUSCA(10) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            String termo;
+            if (roteiro.random.nextBoolean()) {
+                String[] nome = roteiro.gerador.cliente(roteiro.random).split(" ");
+                termo = nome[nome.length - 1];
+            } else {
+                termo = TERMOS_BUSCA[roteiro.random.nextInt(TERMOS_BUSCA.length)];
+            }
+            return get(roteiro, "/api/servicos/busca?size=" + TAMANHO_PAGINA + "&q="
+                    + URLEncoder.encode(termo, StandardCharsets.UTF_8));
+        }
+    },
+    /** Receita por semana de um trimestre. */
+    RELATORIO(5) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) {
+            LocalDate fim = LocalDate.now().minusDays(roteiro.gerador.idade(roteiro.random));
+            return get(roteiro, "/api/relatorios/periodo?agrupamento=SEMANA&startDate=" + fim.minusDays(89)
+                    + "&endDate=" + fim);
+        }
+    },
+    /** Serviço novo, pendente, começando no último mês. */
+    INSERIR(5) {
+        @Override
+        HttpRequest.Builder requisicao(Roteiro roteiro) throws IOException {
+            Servico servico = roteiro.gerador.servico(roteiro.random, roteiro.random.nextInt(30));
+            servico.setStatus(StatusServico.PENDENTE);
+            servico.setValorPago(null);
+            servico.setDataPagamento(null);
+            return HttpRequest.newBuilder(roteiro.uri("/api/servicos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(roteiro.json.writeValueAsBytes(servico)));
+        }
+    };
+
+    private static final int TAMANHO_PAGINA = 15;
+    private static final int PAGINAS_CURSOR = 10;
+    private static final String[] LISTAGENS_CURSOR = { "/api/servicos/cursor", "/api/servicos/pagamentopendente/cursor",
+            "/api/servicos/realizados/cursor", "/api/servicos/cancelados/cursor" };
+    private static final String[] CONSULTAS_PERIODO = { "/api/servicos/iniciopordata", "/api/servicos/terminopordata",
+            "/api/servicos/pagospordata" };
+    private static final String[] TERMOS_BUSCA = { "pintura", "instalacao", "troca", "vazamento", "cozinha",
+            "eletrica", "banheiro", "telhado" };
+
+    /** Peso do cenário na mistura padrão. */
+    private final int peso;
+
+    CenarioCarga(int peso) {
+        this.peso = peso;
+    }
+
+    int getPeso() {
+        return peso;
+    }
+
+    /**
+     * @return Requisição a enviar, sem os cabeçalhos comuns.
+     */
+    abstract HttpRequest.Builder requisicao(Roteiro roteiro) throws IOException;
+
+    /**
+     * Chamado com a resposta, para os cenários que dependem da anterior.
+     */
+    void aoResponder(Roteiro roteiro, HttpResponse<byte[]> resposta) throws IOException {
+    }
+
+    private static HttpRequest.Builder get(Roteiro roteiro, String caminho) {
+        return HttpRequest.newBuilder(roteiro.uri(caminho)).GET();
+    }
+}
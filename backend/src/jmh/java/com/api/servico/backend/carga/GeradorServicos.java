@@ -0,0 +1,271 @@
+package com.api.servico.backend.carga;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Gera serviços sintéticos com distribuições próximas às de produção e os grava por JDBC, em
+ * INSERTs agrupados em lotes, sem passar pelo Hibernate. A mesma semente gera sempre os mesmos dados.
+ * <p>
+ * As datas de início se concentram nos meses recentes, com menos serviços nos fins de semana, e os
+ * IDs seguem a ordem cronológica, como numa tabela preenchida ao longo do tempo. Serviços antigos
+ * estão quase todos realizados e os recentes, pendentes. Os clientes seguem uma distribuição de Zipf
+ * (poucos clientes com muitos serviços) e os valores, uma log-normal.
+ */
+public class GeradorServicos {
+
+    private static final String INSERIR = """
+            INSERT INTO servico (id, nome_cliente, data_inicio, data_termino, descricao_servico, valor_servico,
+                                 valor_pago, data_pagamento, status, versao, faixa_atraso)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    private static final int TAMANHO_LOTE = 5000;
+    private static final int DIAS_HISTORICO = 3 * 365;
+    private static final double IDADE_MEDIA_DIAS = 240;
+    private static final double EXPOENTE_ZIPF = 1.1;
+    private static final double VALOR_MEDIANO_CENTAVOS = 25_000;
+    private static final double DISPERSAO_VALOR = 0.9;
+
+    private static final String[] NOMES = { "Maria", "José", "Ana", "João", "Antônio", "Francisca", "Carlos",
+            "Paulo", "Adriana", "Lucas", "Juliana", "Marcos", "Fernanda", "Pedro", "Patrícia", "Luiz", "Aline",
+            "Gabriel", "Camila", "Rafael", "Sandra", "Daniel", "Bruna", "Marcelo", "Letícia", "Rodrigo", "Vanessa",
+            "Eduardo", "Mariana", "Felipe", "Beatriz", "Gustavo", "Larissa", "Ricardo", "Tatiane", "André",
+            "Renata", "Thiago", "Simone", "Vinícius" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira",
+            "Nunes", "Marques", "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana",
+            "Teixeira", "Araújo", "Correia", "Cavalcanti", "Monteiro", "Pinto" };
+    private static final String[] SERVICOS = { "Pintura de parede", "Troca de tomadas", "Troca de disjuntores",
+            "Instalação de ar-condicionado", "Limpeza de ar-condicionado", "Conserto de vazamento",
+            "Desentupimento", "Montagem de móveis", "Instalação de chuveiro", "Troca de piso",
+            "Reparo de telhado", "Instalação de luminárias", "Revisão elétrica", "Impermeabilização",
+            "Troca de fechadura", "Instalação de cortinas", "Reboco e acabamento", "Limpeza de caixa d'água",
+            "Troca de torneira", "Instalação de portão" };
+    private static final String[] LOCAIS = { "na sala", "na cozinha", "no banheiro", "no quarto", "na área de serviço",
+            "na garagem", "no escritório", "na varanda", "no corredor", "na fachada", "no quintal", "na lavanderia" };
+
+    private final long semente;
+    private final LocalDate hoje;
+    private final String[] clientes;
+    /** Probabilidade acumulada de cada cliente, do mais ao menos frequente. */
+    private final double[] acumulada;
+
+    /**
+     * @param semente            Semente das distribuições.
+     * @param quantidadeClientes Quantidade de clientes distintos.
+     * @param hoje               Data de referência: os serviços gerados começam até ela.
+     */
+    public GeradorServicos(long semente, int quantidadeClientes, LocalDate hoje) {
+        this.semente = semente;
+        this.hoje = hoje;
+        this.clientes = clientes(quantidadeClientes, new SplittableRandom(semente));
+        this.acumulada = new double[quantidadeClientes];
+        double soma = 0;
+        for (int i = 0; i < quantidadeClientes; i++) {
+            soma += 1 / Math.pow(i + 1, EXPOENTE_ZIPF);
+            acumulada[i] = soma;
+        }
+        for (int i = 0; i < quantidadeClientes; i++) {
+            acumulada[i] /= soma;
+        }
+    }
+
+    /**
+     * Grava serviços novos, com IDs a partir do maior existente, e avança a sequência servico_seq
+     * para que as inserções da aplicação não colidam com eles. O resumo diário não é atualizado.
+     *
+     * @param dataSource Banco de destino (H2 ou MySQL), com o esquema já criado.
+     * @param quantidade Quantidade de serviços.
+     * @return Maior ID gravado.
+     */
+    public long inserir(DataSource dataSource, int quantidade) throws SQLException {
+        SplittableRandom random = new SplittableRandom(semente + 1);
+        int[] idades = idades(quantidade, random);
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            long id = maiorId(conexao);
+            try (PreparedStatement insert = conexao.prepareStatement(INSERIR)) {
+                for (int i = 0; i < quantidade; i++) {
+                    preencher(insert, ++id, servico(random, idades[i]));
+                    insert.addBatch();
+                    if ((i + 1) % TAMANHO_LOTE == 0 || i + 1 == quantidade) {
+                        insert.executeBatch();
+                        conexao.commit();
+                    }
+                }
+            }
+            avancarSequencia(conexao, id);
+            conexao.commit();
+            return id;
+        }
+    }
+
+    /**
+     * Gera um serviço sem ID.
+     *
+     * @param random    Gerador de números aleatórios.
+     * @param idadeDias Dias entre a data de início e hoje.
+     */
+    public Servico servico(SplittableRandom random, int idadeDias) {
+        LocalDate inicio = hoje.minusDays(idadeDias);
+        LocalDate termino = random.nextInt(100) < 3 ? null : inicio.plusDays(duracao(random));
+        long valor = valor(random);
+        StatusServico status = status(random, termino);
+        Long pago = null;
+        LocalDate pagamento = null;
+        if (status == StatusServico.REALIZADO) {
+            // A maioria paga o valor cheio; o restante, com desconto
+            pago = random.nextInt(100) < 95 ? valor : valor - valor * (5 + random.nextInt(11)) / 100;
+            LocalDate referencia = termino == null ? inicio : termino;
+            pagamento = referencia.plusDays((long) (-Math.log(1 - random.nextDouble()) * 7));
+            if (pagamento.isAfter(hoje)) {
+                pagamento = hoje;
+            }
+        } else if (status == StatusServico.PENDENTE && random.nextInt(10) < 3) {
+            pago = 0L;
+        }
+        Servico servico = new Servico(null, cliente(random), inicio, termino, descricao(random), valor, pago,
+                pagamento, status);
+        servico.setFaixaAtraso(FaixaAtraso.classificar(status, termino, hoje));
+        return servico;
+    }
+
+    /**
+     * @return Um cliente, sorteado com a mesma frequência usada na geração.
+     */
+    public String cliente(SplittableRandom random) {
+        int posicao = Arrays.binarySearch(acumulada, random.nextDouble());
+        return clientes[Math.min(posicao < 0 ? -posicao - 1 : posicao, clientes.length - 1)];
+    }
+
+    /**
+     * @return Dias entre o início e hoje de um serviço, mais provável quanto mais recente.
+     */
+    public int idade(SplittableRandom random) {
+        // Exponencial truncada no início do histórico
+        double u = random.nextDouble() * (1 - Math.exp(-DIAS_HISTORICO / IDADE_MEDIA_DIAS));
+        int idade = (int) (-IDADE_MEDIA_DIAS * Math.log(1 - u));
+        DayOfWeek dia = hoje.minusDays(idade).getDayOfWeek();
+        if (dia == DayOfWeek.SUNDAY && idade > 0 && random.nextInt(10) < 7) {
+            idade--; // Para a segunda-feira
+        } else if (dia == DayOfWeek.SATURDAY && random.nextInt(10) < 5) {
+            idade++; // Para a sexta-feira
+        }
+        return idade;
+    }
+
+    private int[] idades(int quantidade, SplittableRandom random) {
+        int[] idades = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            idades[i] = idade(random);
+        }
+        // IDs crescentes do mais antigo ao mais recente
+        Arrays.sort(idades);
+        for (int i = 0, j = quantidade - 1; i < j; i++, j--) {
+            int idade = idades[i];
+            idades[i] = idades[j];
+            idades[j] = idade;
+        }
+        return idades;
+    }
+
+    private static int duracao(SplittableRandom random) {
+        return (int) Math.min(90, -Math.log(1 - random.nextDouble()) * 4);
+    }
+
+    private static long valor(SplittableRandom random) {
+        double valor = VALOR_MEDIANO_CENTAVOS * Math.exp(DISPERSAO_VALOR * random.nextGaussian());
+        // Preços redondos, em múltiplos de R$ 5
+        return Math.min(5_000_000, Math.max(2_000, Math.round(valor / 500) * 500));
+    }
+
+    private StatusServico status(SplittableRandom random, LocalDate termino) {
+        if (random.nextInt(100) < 6) {
+            return StatusServico.CANCELADO;
+        }
+        if (termino == null || termino.isAfter(hoje)) {
+            return random.nextInt(100) < 85 ? StatusServico.PENDENTE : StatusServico.REALIZADO;
+        }
+        // Os recém-terminados costumam estar à espera do pagamento; os antigos, quase todos pagos
+        double pendente = 0.04 + 0.5 * Math.exp(-ChronoUnit.DAYS.between(termino, hoje) / 20.0);
+        return random.nextDouble() < pendente ? StatusServico.PENDENTE : StatusServico.REALIZADO;
+    }
+
+    private static String descricao(SplittableRandom random) {
+        // Os primeiros tipos de serviço são os mais comuns
+        int tipo = Math.min(SERVICOS.length - 1, (int) (-Math.log(1 - random.nextDouble()) * SERVICOS.length / 3));
+        return SERVICOS[tipo] + " " + LOCAIS[random.nextInt(LOCAIS.length)];
+    }
+
+    private static String[] clientes(int quantidade, SplittableRandom random) {
+        String[] clientes = new String[quantidade];
+        int combinacoes = NOMES.length * SOBRENOMES.length;
+        for (int i = 0; i < quantidade; i++) {
+            String nome = NOMES[i % NOMES.length] + " " + SOBRENOMES[i / NOMES.length % SOBRENOMES.length];
+            clientes[i] = i < combinacoes ? nome : nome + " " + SOBRENOMES[i / combinacoes % SOBRENOMES.length];
+        }
+        // Embaralhados para que os clientes mais frequentes não sejam os de mesmo sobrenome
+        for (int i = quantidade - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String cliente = clientes[i];
+            clientes[i] = clientes[j];
+            clientes[j] = cliente;
+        }
+        return clientes;
+    }
+
+    private static void preencher(PreparedStatement insert, long id, Servico servico) throws SQLException {
+        insert.setLong(1, id);
+        insert.setString(2, servico.getNomeCliente());
+        insert.setObject(3, servico.getDataInicio());
+        insert.setObject(4, servico.getDataTermino(), Types.DATE);
+        insert.setString(5, servico.getDescricaoServico());
+        insert.setBigDecimal(6, Centavos.paraDecimal(servico.getValorServico()));
+        insert.setBigDecimal(7, Centavos.paraDecimal(servico.getValorPago()));
+        insert.setObject(8, servico.getDataPagamento(), Types.DATE);
+        insert.setByte(9, servico.getStatus().getCodigo());
+        insert.setString(10, servico.getFaixaAtraso() == null ? null : servico.getFaixaAtraso().name());
+    }
+
+    private static long maiorId(Connection conexao) throws SQLException {
+        try (Statement consulta = conexao.createStatement();
+                ResultSet resultado = consulta.executeQuery("SELECT COALESCE(MAX(id), 0) FROM servico")) {
+            resultado.next();
+            return resultado.getLong(1);
+        }
+    }
+
+    /**
+     * Leva a sequência além do maior ID, com folga de um bloco: o otimizador do Hibernate pode
+     * tratar o valor lido como início ou como fim do bloco reservado.
+     */
+    private static void avancarSequencia(Connection conexao, long maiorId) throws SQLException {
+        long proximo = maiorId + Servico.TAMANHO_BLOCO_ID + 1;
+        try (Statement comando = conexao.createStatement()) {
+            if (conexao.getMetaData().getDatabaseProductName().equals("MySQL")) {
+                // O MySQL não tem sequências: o Hibernate usa a tabela servico_seq
+                comando.executeUpdate("UPDATE servico_seq SET next_val = " + proximo);
+            } else {
+                comando.execute("ALTER SEQUENCE servico_seq RESTART WITH " + proximo);
+            }
+        }
+    }
+}
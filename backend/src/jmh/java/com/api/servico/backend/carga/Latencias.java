@@ -0,0 +1,86 @@
+package com.api.servico.backend.carga;
+
+import java.util.Arrays;
+
+/**
+ * Latências de um cenário, guardadas uma a uma para que os percentis sejam exatos.
+ * Não é thread-safe: cada thread da carga registra nas suas e elas são somadas no final.
+ */
+final class Latencias {
+
+    private long[] valores = new long[1024];
+    private int quantidade;
+    private long erros;
+    private long recusadas;
+
+    /**
+     * @param nanos  Latência da requisição.
+     * @param status Código HTTP da resposta.
+     */
+    void registrar(long nanos, int status) {
+        if (status == 429) {
+            recusadas++;
+        } else if (status >= 400) {
+            erros++;
+        }
+        if (quantidade == valores.length) {
+            valores = Arrays.copyOf(valores, quantidade * 2);
+        }
+        valores[quantidade++] = nanos;
+    }
+
+    /**
+     * Requisição sem resposta (conexão recusada, timeout).
+     */
+    void falhar() {
+        erros++;
+    }
+
+    void somar(Latencias outras) {
+        if (quantidade + outras.quantidade > valores.length) {
+            valores = Arrays.copyOf(valores, quantidade + outras.quantidade);
+        }
+        System.arraycopy(outras.valores, 0, valores, quantidade, outras.quantidade);
+        quantidade += outras.quantidade;
+        erros += outras.erros;
+        recusadas += outras.recusadas;
+    }
+
+    /**
+     * Ordena as latências; deve ser chamado antes de percentil e maximo.
+     */
+    void ordenar() {
+        Arrays.sort(valores, 0, quantidade);
+    }
+
+    /**
+     * @param fracao Percentil entre 0 e 1, ex.: 0.99.
+     * @return Latência em nanossegundos (nearest-rank), ou 0 sem registros.
+     */
+    long percentil(double fracao) {
+        if (quantidade == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(fracao * quantidade) - 1;
+        return valores[Math.max(0, Math.min(posicao, quantidade - 1))];
+    }
+
+    long maximo() {
+        return quantidade == 0 ? 0 : valores[quantidade - 1];
+    }
+
+    /**
+     * @return Requisições respondidas, incluindo as com erro HTTP.
+     */
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    long getErros() {
+        return erros;
+    }
+
+    long getRecusadas() {
+        return recusadas;
+    }
+}
@@ -0,0 +1,51 @@
+package com.api.servico.backend.carga;
+
+import java.net.URI;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Estado de um usuário virtual da carga: sorteios próprios e a navegação por cursor em andamento.
+ * Cada thread da carga tem o seu.
+ */
+final class Roteiro {
+
+    /** Fração das consultas por ID que vão aos serviços mais recentes, e o tamanho dessa faixa. */
+    private static final int PERCENTUAL_RECENTES = 80;
+    private static final double FAIXA_RECENTES = 0.05;
+
+    final URI base;
+    final SplittableRandom random;
+    final GeradorServicos gerador;
+    final ObjectMapper json;
+    private final long totalServicos;
+
+    /** Listagem e cursor da próxima página, ou null para começar uma navegação nova. */
+    String listagemCursor;
+    String cursor;
+    int paginasCursor;
+
+    Roteiro(URI base, SplittableRandom random, GeradorServicos gerador, ObjectMapper json, long totalServicos) {
+        this.base = base;
+        this.random = random;
+        this.gerador = gerador;
+        this.json = json;
+        this.totalServicos = Math.max(1, totalServicos);
+    }
+
+    URI uri(String caminho) {
+        return base.resolve(caminho);
+    }
+
+    /**
+     * @return ID de um serviço existente, em geral um dos mais recentes.
+     */
+    long id() {
+        long recentes = Math.max(1, (long) (totalServicos * FAIXA_RECENTES));
+        if (random.nextInt(100) < PERCENTUAL_RECENTES) {
+            return totalServicos - random.nextLong(recentes);
+        }
+        return 1 + random.nextLong(totalServicos);
+    }
+}
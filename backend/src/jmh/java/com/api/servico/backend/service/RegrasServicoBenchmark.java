@@ -0,0 +1,62 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Regras aplicadas por ServicoService.inserir e ServicoService.alterar, isoladas do banco.
+ * Fica no pacote do serviço porque RegrasServico não é pública.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegrasServicoBenchmark {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 3, 1);
+
+    @Benchmark
+    public Servico inserirPendente() {
+        Servico servico = new Servico(null, "Maria Souza", INICIO, INICIO, "Pintura", 30_000L, null, null, null);
+        RegrasServico.aplicarInsercao(servico);
+        return servico;
+    }
+
+    @Benchmark
+    public Servico inserirPago() {
+        Servico servico = new Servico(null, "Maria Souza", INICIO, INICIO, "Pintura", 30_000L, 30_000L, null, null);
+        RegrasServico.aplicarInsercao(servico);
+        return servico;
+    }
+
+    @Benchmark
+    public Servico alterarComPagamento() {
+        Servico existente = new Servico(1L, "Maria Souza", INICIO, INICIO, "Pintura", 30_000L, null, null, StatusServico.PENDENTE);
+        Servico alterado = new Servico(1L, "Maria Souza", INICIO, INICIO, "Pintura", 30_000L, 15_000L, null, null);
+        RegrasServico.aplicarAlteracao(alterado, existente);
+        return alterado;
+    }
+
+    @Benchmark
+    public Servico alterarSemPagamento() {
+        Servico existente = new Servico(1L, "Maria Souza", INICIO, INICIO, "Pintura", 30_000L, null, null, StatusServico.PENDENTE);
+        Servico alterado = new Servico(1L, "Maria Souza", INICIO, INICIO, "Pintura a óleo", 32_000L, null, null, StatusServico.PENDENTE);
+        RegrasServico.aplicarAlteracao(alterado, existente);
+        return alterado;
+    }
+}
@@ -0,0 +1,72 @@
+package com.api.servico.backend.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Coloca o DataSourceComAdmissao na frente do pool quando servico.admissao.habilitada=true.
+ * Pensado para o perfil "virtual", em que o número de requisições simultâneas deixa de ser
+ * limitado pelas threads do Tomcat e passaria a ser limitado só pela espera no Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "servico.admissao.habilitada", havingValue = "true")
+public class AdmissaoConexoesConfig {
+
+    @Bean
+    public static BeanPostProcessor admissaoConexoesPostProcessor() {
+        return new AdmissaoPostProcessor();
+    }
+
+    /**
+     * Pedidos aguardando e recusados, ao lado das métricas hikaricp.* do pool.
+     */
+    @Bean
+    public MeterBinder admissaoConexoesMetricas(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof DataSourceComAdmissao admissao) {
+                Gauge.builder("servico.admissao.aguardando", admissao, DataSourceComAdmissao::getAguardando)
+                        .description("Pedidos aguardando permissao para obter conexao")
+                        .register(registry);
+                FunctionCounter.builder("servico.admissao.recusadas", admissao, DataSourceComAdmissao::getRecusadas)
+                        .description("Pedidos recusados por falta de conexao")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static class AdmissaoPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Environment environment;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof DataSourceComAdmissao) {
+                return bean;
+            }
+            // Por padrão admite tantas conexões quanto o pool tem, para que a espera aconteça aqui, com prazo e fila limitados
+            int tamanhoPool = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+            return new DataSourceComAdmissao(dataSource,
+                    environment.getProperty("servico.admissao.limite", Integer.class, tamanhoPool),
+                    environment.getProperty("servico.admissao.espera-maxima", Duration.class, Duration.ofSeconds(2)),
+                    environment.getProperty("servico.admissao.fila-maxima", Integer.class, 200));
+        }
+    }
+}
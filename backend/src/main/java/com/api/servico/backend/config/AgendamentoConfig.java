@@ -0,0 +1,12 @@
+package com.api.servico.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas periódicas (@Scheduled) da aplicação.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
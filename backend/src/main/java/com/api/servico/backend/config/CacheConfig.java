@@ -0,0 +1,69 @@
+package com.api.servico.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Caches em memória das leituras mais frequentes, limitados por tamanho e tempo de vida.
+ * As entradas são invalidadas pelos métodos de escrita de ServicoService; a alteração de um serviço
+ * grava a versão confirmada no cache de serviços individuais.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Serviços individuais, por ID. */
+    public static final String SERVICOS = "servicos";
+    /** Primeira página da listagem de todos os serviços, por Pageable e inclusão da descrição. */
+    public static final String PAGINA_TODOS = "paginaTodos";
+    /** Primeira página da listagem de serviços com pagamento pendente, por Pageable e inclusão da descrição. */
+    public static final String PAGINA_PENDENTES = "paginaPendentes";
+    /** Primeira página da listagem de serviços cancelados, por Pageable e inclusão da descrição. */
+    public static final String PAGINA_CANCELADOS = "paginaCancelados";
+    /** Primeira página da listagem de serviços realizados, por Pageable e inclusão da descrição. */
+    public static final String PAGINA_REALIZADOS = "paginaRealizados";
+
+    /** Nomes de todos os caches da aplicação. */
+    public static final String[] NOMES = { SERVICOS, PAGINA_TODOS, PAGINA_PENDENTES, PAGINA_CANCELADOS, PAGINA_REALIZADOS };
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${servico.cache.servicos.tamanho-maximo:10000}") long tamanhoServicos,
+            @Value("${servico.cache.servicos.expiracao:10m}") Duration expiracaoServicos,
+            @Value("${servico.cache.paginas.tamanho-maximo:100}") long tamanhoPaginas,
+            @Value("${servico.cache.paginas.expiracao:1m}") Duration expiracaoPaginas) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                // Serviços individuais não aceitam leituras anteriores à última escrita (ver CacheServicos)
+                return SERVICOS.equals(name) ? new CacheServicos(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(SERVICOS, Caffeine.newBuilder()
+                .maximumSize(tamanhoServicos)
+                .expireAfterWrite(expiracaoServicos)
+                .recordStats()
+                .build());
+        for (String nome : new String[] { PAGINA_TODOS, PAGINA_PENDENTES, PAGINA_CANCELADOS, PAGINA_REALIZADOS }) {
+            cacheManager.registerCustomCache(nome, Caffeine.newBuilder()
+                    .maximumSize(tamanhoPaginas)
+                    .expireAfterWrite(expiracaoPaginas)
+                    .recordStats()
+                    .build());
+        }
+        // Evicções feitas dentro de uma transação só valem após o commit
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
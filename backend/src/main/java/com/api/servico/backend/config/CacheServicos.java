@@ -0,0 +1,101 @@
+package com.api.servico.backend.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Cache de serviços por ID que descarta o resultado de leituras iniciadas antes de uma invalidação.
+ * <p>
+ * Uma leitura que não encontra a entrada consulta o banco e só depois grava o resultado. Se, nesse
+ * intervalo, uma escrita confirmada invalidar a mesma chave, a linha lida pode ser a anterior à escrita,
+ * e gravá-la deixaria o serviço desatualizado no cache até a expiração. Cada chave pertence a uma faixa
+ * com um contador de gerações, incrementado pelas invalidações e pelas gravações das escritas; a leitura
+ * guarda a geração vista na falta e sua gravação é descartada se a geração mudou.
+ */
+class CacheServicos extends CaffeineCache {
+
+    private static final int FAIXAS = 4096;
+
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+
+    /** Falta registrada pela última leitura da thread, à espera da gravação do resultado. */
+    private final ThreadLocal<Falta> faltas = new ThreadLocal<>();
+
+    CacheServicos(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        // A geração é lida antes da consulta para que uma invalidação concorrente não passe despercebida
+        long geracao = geracoes.get(faixa(key));
+        Object valor = super.lookup(key);
+        if (valor == null) {
+            faltas.set(new Falta(key, geracao));
+        } else {
+            faltas.remove();
+        }
+        return valor;
+    }
+
+    /**
+     * Grava o resultado de uma leitura que não encontrou a entrada, se nenhuma invalidação ocorreu
+     * desde a falta, ou o resultado de uma escrita, que passa a invalidar as leituras em andamento.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        Falta falta = faltas.get();
+        faltas.remove();
+        int faixa = faixa(key);
+        if (falta == null || !falta.key().equals(key)) {
+            geracoes.incrementAndGet(faixa);
+            super.put(key, value);
+            return;
+        }
+        Object valor = toStoreValue(value);
+        // A comparação acontece sob o bloqueio da chave, o mesmo que a remoção em evict() aguarda
+        getNativeCache().asMap().compute(key,
+                (chave, atual) -> geracoes.get(faixa) == falta.geracao() ? valor : atual);
+    }
+
+    @Override
+    public void evict(Object key) {
+        geracoes.incrementAndGet(faixa(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        geracoes.incrementAndGet(faixa(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidarGeracoes();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidarGeracoes();
+        return super.invalidate();
+    }
+
+    private void invalidarGeracoes() {
+        for (int i = 0; i < FAIXAS; i++) {
+            geracoes.incrementAndGet(i);
+        }
+    }
+
+    private static int faixa(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (FAIXAS - 1);
+    }
+
+    private record Falta(Object key, long geracao) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.servico.backend.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.api.servico.backend.service.DestinoEventos;
+import com.api.servico.backend.service.DestinoEventosArquivo;
+import com.api.servico.backend.service.DestinoEventosLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Destino padrão dos eventos da caixa de saída, escolhido por servico.saida.destino:
+ * "log" (padrão) ou "arquivo". Integrações podem registrar outros beans DestinoEventos,
+ * que recebem os mesmos lotes.
+ */
+@Configuration
+public class CaixaSaidaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "servico.saida.destino", havingValue = "log", matchIfMissing = true)
+    public DestinoEventos destinoEventosLog(ObjectMapper objectMapper) {
+        return new DestinoEventosLog(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "servico.saida.destino", havingValue = "arquivo")
+    public DestinoEventos destinoEventosArquivo(ObjectMapper objectMapper,
+            @Value("${servico.saida.arquivo:eventos/servicos.ndjson}") Path arquivo) throws IOException {
+        return new DestinoEventosArquivo(objectMapper, arquivo);
+    }
+}
@@ -0,0 +1,138 @@
+package com.api.servico.backend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.api.servico.backend.service.exceptions.AdmissaoRecusadaException;
+
+/**
+ * Limita quantas conexões podem estar em uso ao mesmo tempo, antes de chegar ao pool.
+ * Quem não consegue uma permissão espera em fila (por ordem de chegada) até o prazo,
+ * e quem chega com a fila cheia é recusado na hora, em vez de acumular threads paradas no Hikari.
+ */
+public class DataSourceComAdmissao extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaNanos;
+    private final int filaMaxima;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final LongAdder recusadas = new LongAdder();
+
+    /**
+     * @param alvo         DataSource real (o pool).
+     * @param limite       Conexões simultâneas permitidas.
+     * @param esperaMaxima Quanto tempo um pedido pode esperar por uma permissão.
+     * @param filaMaxima   Quantos pedidos podem esperar ao mesmo tempo.
+     */
+    public DataSourceComAdmissao(DataSource alvo, int limite, Duration esperaMaxima, int filaMaxima) {
+        super(alvo);
+        this.permissoes = new Semaphore(limite, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.filaMaxima = filaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admitir();
+        return liberarAoFechar(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admitir();
+        return liberarAoFechar(() -> super.getConnection(username, password));
+    }
+
+    /** @return Pedidos aguardando uma permissão neste momento. */
+    public int getAguardando() {
+        return aguardando.get();
+    }
+
+    /** @return Pedidos recusados desde a inicialização. */
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    private void admitir() throws SQLException {
+        try {
+            // Com prazo zero o semáforo justo respeita a fila; o tryAcquire() sem prazo furaria a vez de quem espera
+            if (permissoes.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (aguardando.incrementAndGet() > filaMaxima) {
+                aguardando.decrementAndGet();
+                throw recusar("queue full");
+            }
+            try {
+                if (!permissoes.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                    throw recusar("timed out waiting");
+                }
+            } finally {
+                aguardando.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw recusar("interrupted");
+        }
+    }
+
+    private AdmissaoRecusadaException recusar(String motivo) {
+        recusadas.increment();
+        return new AdmissaoRecusadaException(motivo);
+    }
+
+    private Connection liberarAoFechar(ObtencaoConexao obtencao) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = obtencao.obter();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] { ConnectionProxy.class }, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "getTargetConnection":
+                            return conexao;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (liberada.compareAndSet(false, true)) {
+                                try {
+                                    conexao.close();
+                                } finally {
+                                    permissoes.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return metodo.invoke(conexao, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ObtencaoConexao {
+        Connection obter() throws SQLException;
+    }
+}
@@ -0,0 +1,201 @@
+package com.api.servico.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Envia as transações readOnly para a réplica e todo o resto para o primário.
+ * <p>
+ * A conexão física só é obtida no primeiro comando, quando o JpaTransactionManager já marcou
+ * a conexão como somente leitura; é isso que permite escolher o destino pela transação.
+ * A réplica só é usada enquanto a última verificação mediu um atraso dentro de atrasoMaximo
+ * e nenhuma escrita desta instância aconteceu há menos de atrasoMaximo (para que quem acabou
+ * de gravar, e os caches repovoados logo depois, leiam o próprio dado). Fora disso, ou se a
+ * réplica recusar a conexão, a leitura vai para o primário.
+ */
+public class DataSourceRoteado extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceRoteado.class);
+
+    /** Colunas de atraso do SHOW REPLICA STATUS (MySQL 8.0.22+) e do SHOW SLAVE STATUS. */
+    private static final String[] COLUNAS_ATRASO = { "Seconds_Behind_Source", "Seconds_Behind_Master" };
+
+    private final DataSource primario;
+    private final HikariDataSource replica;
+    private final long atrasoMaximoNanos;
+
+    /** Só passa a true depois da primeira verificação bem-sucedida. */
+    private volatile boolean disponivel;
+    /** Atraso medido na última verificação, em segundos, ou -1 se desconhecido. */
+    private volatile long atrasoSegundos = -1;
+    private volatile long ultimaEscrita;
+
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+
+    /**
+     * @param primario     DataSource de escrita (o pool configurado em spring.datasource).
+     * @param replica      Pool da réplica.
+     * @param atrasoMaximo Atraso máximo tolerado nas leituras da réplica.
+     */
+    public DataSourceRoteado(DataSource primario, HikariDataSource replica, Duration atrasoMaximo) {
+        super(primario);
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoMaximoNanos = atrasoMaximo.toNanos();
+        this.ultimaEscrita = System.nanoTime() - atrasoMaximoNanos;
+        setReadOnlyDataSource(new Leitura());
+    }
+
+    /**
+     * Registra que esta instância gravou; as leituras seguintes vão ao primário até a réplica alcançá-la.
+     */
+    public void registrarEscrita() {
+        ultimaEscrita = System.nanoTime();
+    }
+
+    /**
+     * Mede o atraso da réplica e decide se ela pode atender leituras.
+     *
+     * @param consulta Consulta que retorna o atraso em segundos (SHOW REPLICA STATUS ou uma com
+     *                 o valor na primeira coluna); vazia, apenas testa a conexão.
+     */
+    public void verificar(String consulta) {
+        long atraso;
+        try (Connection conexao = replica.getConnection(); Statement comando = conexao.createStatement()) {
+            atraso = consulta.isBlank() ? 0 : lerAtraso(comando, consulta);
+        } catch (SQLException e) {
+            atrasoSegundos = -1;
+            atualizar(false, "falha na verificacao: " + e.getMessage());
+            return;
+        }
+        atrasoSegundos = atraso;
+        if (atraso < 0) {
+            atualizar(false, "replicacao parada");
+        } else if (Duration.ofSeconds(atraso).toNanos() > atrasoMaximoNanos) {
+            atualizar(false, "atraso de " + atraso + "s");
+        } else {
+            atualizar(true, "atraso de " + atraso + "s");
+        }
+    }
+
+    /** @return true se a réplica está atendendo leituras (fora da janela pós-escrita). */
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /** @return Atraso medido na última verificação, em segundos, ou -1 se desconhecido. */
+    public long getAtrasoSegundos() {
+        return atrasoSegundos;
+    }
+
+    /** @return Transações readOnly atendidas pela réplica. */
+    public long getLeiturasReplica() {
+        return leiturasReplica.sum();
+    }
+
+    /** @return Transações readOnly desviadas para o primário. */
+    public long getLeiturasPrimario() {
+        return leiturasPrimario.sum();
+    }
+
+    /** @return Pool da réplica. */
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Fecha os dois pools; substitui o close() que o Spring chamaria no pool primário.
+     */
+    @Override
+    public void close() throws Exception {
+        replica.close();
+        if (primario instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+
+    private boolean usarReplica() {
+        return disponivel && System.nanoTime() - ultimaEscrita >= atrasoMaximoNanos;
+    }
+
+    private void atualizar(boolean novo, String motivo) {
+        if (disponivel != novo) {
+            if (novo) {
+                log.info("Replica de leitura em uso ({})", motivo);
+            } else {
+                log.warn("Replica de leitura fora de uso, leituras no primario ({})", motivo);
+            }
+        }
+        disponivel = novo;
+    }
+
+    /** Atraso em segundos, ou -1 se a consulta não retornou linha ou o valor é nulo (replicação parada). */
+    private static long lerAtraso(Statement comando, String consulta) throws SQLException {
+        try (ResultSet resultado = comando.executeQuery(consulta)) {
+            if (!resultado.next()) {
+                return -1;
+            }
+            long atraso = resultado.getLong(colunaAtraso(resultado.getMetaData()));
+            return resultado.wasNull() ? -1 : atraso;
+        }
+    }
+
+    private static int colunaAtraso(ResultSetMetaData metaDados) throws SQLException {
+        for (int i = 1; i <= metaDados.getColumnCount(); i++) {
+            for (String coluna : COLUNAS_ATRASO) {
+                if (coluna.equalsIgnoreCase(metaDados.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * DataSource das transações readOnly: a réplica quando utilizável, senão o primário.
+     * Uma falha ao obter conexão da réplica a tira de uso até a próxima verificação.
+     */
+    private final class Leitura extends DelegatingDataSource {
+
+        Leitura() {
+            super(replica);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (usarReplica()) {
+                try {
+                    Connection conexao = replica.getConnection();
+                    leiturasReplica.increment();
+                    return conexao;
+                } catch (SQLException e) {
+                    atualizar(false, "falha ao obter conexao: " + e.getMessage());
+                }
+            }
+            leiturasPrimario.increment();
+            return primario.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            // Credenciais explícitas são do primário; não há equivalente na réplica
+            leiturasPrimario.increment();
+            return primario.getConnection(username, password);
+        }
+    }
+}
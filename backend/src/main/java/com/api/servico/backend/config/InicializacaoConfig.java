@@ -0,0 +1,49 @@
+package com.api.servico.backend.config;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ajustes da inicialização com spring.main.lazy-initialization=true (perfil "producao").
+ * <p>
+ * Serviços e controladores passam a ser criados no primeiro uso, mas o banco continua sendo
+ * preparado na subida: o pool, as migrations e o EntityManagerFactory. Assim uma migration
+ * com erro ou um banco fora do ar ainda derrubam a inicialização, em vez de aparecerem na
+ * primeira requisição. Os beans com @Scheduled já ficam de fora pelo próprio Spring Boot.
+ * <p>
+ * Com servico.inicializacao.sair-quando-pronto=true a aplicação encerra assim que passa a aceitar
+ * tráfego. O treino do arquivo CDS (perfil Maven "cds") usa isso para percorrer a subida
+ * inteira, até a prontidão, e não só o refresh do contexto como spring.context.exit=onRefresh.
+ */
+@Configuration
+public class InicializacaoConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter persistenciaSemInicializacaoTardia() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, Flyway.class,
+                FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty("servico.inicializacao.sair-quando-pronto")
+    public ApplicationListener<AvailabilityChangeEvent<?>> sairQuandoPronto(ConfigurableApplicationContext contexto) {
+        return evento -> {
+            if (evento.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                System.exit(SpringApplication.exit(contexto));
+            }
+        };
+    }
+}
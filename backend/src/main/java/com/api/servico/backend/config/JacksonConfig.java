@@ -0,0 +1,25 @@
+package com.api.servico.backend.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Ajustes do ObjectMapper da aplicação.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Filtros Jackson (@JsonFilter) serializam todas as propriedades, a menos que a resposta
+     * informe outro filtro, como faz SelecaoCamposAdvice com fields=.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filtrosPadrao() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
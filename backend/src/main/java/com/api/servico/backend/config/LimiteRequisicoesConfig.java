@@ -0,0 +1,62 @@
+package com.api.servico.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.api.servico.backend.controller.ClienteRequisicao;
+import com.api.servico.backend.controller.LimiteRequisicoesInterceptor;
+import com.api.servico.backend.service.LimiteRequisicoesService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Aplica as cotas de requisições por cliente à API quando servico.limite.habilitado=true (padrão).
+ * O feed /api/servicos/stream fica de fora: as conexões são longas e já têm o limite de assinantes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "servico.limite.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteRequisicoesConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private LimiteRequisicoesService limiteRequisicoesService;
+
+    @Autowired
+    private ClienteRequisicao clienteRequisicao;
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LimiteRequisicoesInterceptor(limiteRequisicoesService, clienteRequisicao, environment))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/servicos/stream");
+    }
+
+    /**
+     * Requisições recusadas por motivo e clientes com cota em memória.
+     */
+    @Bean
+    public MeterBinder limiteRequisicoesMetricas() {
+        return registry -> {
+            FunctionCounter.builder("servico.limite.recusadas", limiteRequisicoesService, LimiteRequisicoesService::getRecusadasTaxa)
+                    .description("Requisicoes recusadas com 429")
+                    .tag("motivo", "taxa")
+                    .register(registry);
+            FunctionCounter.builder("servico.limite.recusadas", limiteRequisicoesService, LimiteRequisicoesService::getRecusadasSimultaneas)
+                    .description("Requisicoes recusadas com 429")
+                    .tag("motivo", "simultaneas")
+                    .register(registry);
+            Gauge.builder("servico.limite.clientes", limiteRequisicoesService, LimiteRequisicoesService::getClientes)
+                    .description("Clientes com cota em memoria")
+                    .register(registry);
+        };
+    }
+}
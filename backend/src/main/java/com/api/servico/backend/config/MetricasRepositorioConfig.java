@@ -0,0 +1,124 @@
+package com.api.servico.backend.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada método dos repositórios Spring Data: tempo de execução (servico.repositorio.consultas,
+ * por método e resultado) e linhas devolvidas (servico.repositorio.linhas).
+ * Para Streams, o tempo e as linhas são registrados quando o Stream é fechado.
+ */
+@Configuration
+public class MetricasRepositorioConfig {
+
+    public static final String CONSULTAS = "servico.repositorio.consultas";
+    public static final String LINHAS = "servico.repositorio.linhas";
+
+    @Bean
+    public static BeanPostProcessor metricasRepositorioPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                // Antes da inicialização: o repositório é criado no afterPropertiesSet da factory
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, informacoes) -> proxyFactory.addAdvice(
+                                    new MetricasInterceptor(meterRegistry, informacoes.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class MetricasInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repositorio;
+        private final Map<Method, Medidores> medidores = new ConcurrentHashMap<>();
+
+        MetricasInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repositorio) {
+            this.meterRegistry = meterRegistry;
+            this.repositorio = repositorio.getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Medidores medidor = medidores.computeIfAbsent(invocation.getMethod(), this::criarMedidores);
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocation.proceed();
+            } catch (Throwable e) {
+                medidor.erro().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            if (resultado instanceof Stream<?> stream) {
+                AtomicLong linhas = new AtomicLong();
+                return stream.peek(item -> linhas.incrementAndGet()).onClose(() -> {
+                    medidor.sucesso().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    medidor.linhas().record(linhas.get());
+                });
+            }
+            medidor.sucesso().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            long linhas = contarLinhas(resultado);
+            if (linhas >= 0) {
+                medidor.linhas().record(linhas);
+            }
+            return resultado;
+        }
+
+        private Medidores criarMedidores(Method metodo) {
+            MeterRegistry registry = meterRegistry.getObject();
+            return new Medidores(
+                    Timer.builder(CONSULTAS).tag("repositorio", repositorio).tag("metodo", metodo.getName())
+                            .tag("resultado", "sucesso").register(registry),
+                    Timer.builder(CONSULTAS).tag("repositorio", repositorio).tag("metodo", metodo.getName())
+                            .tag("resultado", "erro").register(registry),
+                    DistributionSummary.builder(LINHAS).baseUnit("linhas").tag("repositorio", repositorio)
+                            .tag("metodo", metodo.getName()).register(registry));
+        }
+
+        /**
+         * @return Quantidade de entidades devolvidas, ou -1 quando o retorno não é um conjunto de linhas
+         *         (contagens, quantidade de linhas alteradas, void).
+         */
+        private static long contarLinhas(Object resultado) {
+            if (resultado instanceof Collection<?> colecao) {
+                return colecao.size();
+            }
+            if (resultado instanceof Slice<?> pagina) {
+                return pagina.getNumberOfElements();
+            }
+            if (resultado instanceof Optional<?> opcional) {
+                return opcional.isPresent() ? 1 : 0;
+            }
+            if (resultado == null || resultado instanceof Number || resultado instanceof Boolean) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+
+    private record Medidores(Timer sucesso, Timer erro, DistributionSummary linhas) {
+    }
+}
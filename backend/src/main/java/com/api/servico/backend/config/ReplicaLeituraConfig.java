@@ -0,0 +1,159 @@
+package com.api.servico.backend.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.servico.backend.service.ServicoEvento;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Coloca o DataSourceRoteado na frente do pool quando servico.replica.habilitada=true, para que
+ * as transações readOnly (listagens, relatórios por período, exportações) leiam da réplica
+ * em servico.replica.url e deixem o primário para as escritas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "servico.replica.habilitada", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${servico.replica.consulta-atraso:SHOW REPLICA STATUS}")
+    private String consultaAtraso;
+
+    @Bean
+    public static BeanPostProcessor replicaLeituraPostProcessor() {
+        return new ReplicaPostProcessor();
+    }
+
+    /**
+     * Estado da réplica e destino das leituras, ao lado das métricas hikaricp.* dos dois pools.
+     */
+    @Bean
+    public MeterBinder replicaLeituraMetricas() {
+        return registry -> {
+            DataSourceRoteado roteado = roteado();
+            HikariDataSource replica = roteado.getReplica();
+            if (replica.getMetricRegistry() == null && replica.getMetricsTrackerFactory() == null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            Gauge.builder("servico.replica.disponivel", roteado, r -> r.isDisponivel() ? 1 : 0)
+                    .description("1 se a replica esta atendendo leituras")
+                    .register(registry);
+            Gauge.builder("servico.replica.atraso", roteado, DataSourceRoteado::getAtrasoSegundos)
+                    .description("Atraso da replica na ultima verificacao (-1 se desconhecido)")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("servico.replica.leituras", roteado, DataSourceRoteado::getLeiturasReplica)
+                    .description("Transacoes somente leitura por destino")
+                    .tag("destino", "replica")
+                    .register(registry);
+            FunctionCounter.builder("servico.replica.leituras", roteado, DataSourceRoteado::getLeiturasPrimario)
+                    .description("Transacoes somente leitura por destino")
+                    .tag("destino", "primario")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Mede o atraso da réplica periodicamente; o pior caso de defasagem de uma leitura é
+     * servico.replica.atraso-maximo somado a este intervalo.
+     */
+    @Scheduled(fixedDelayString = "${servico.replica.verificacao:PT5S}")
+    public void verificarReplica() {
+        roteado().verificar(consultaAtraso);
+    }
+
+    /**
+     * Abre a janela pós-escrita antes do commit, e não depois, para que nenhuma leitura entre
+     * o commit e as evicções dos caches repovoe um cache a partir da réplica ainda atrasada.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarServico(ServicoEvento evento) {
+        roteado().registrarEscrita();
+    }
+
+    private DataSourceRoteado roteado() {
+        try {
+            return dataSource.unwrap(DataSourceRoteado.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("DataSource is not routed to the replica", e);
+        }
+    }
+
+    /**
+     * Com a admissão também habilitada, ela fica por fora, qualquer que seja a ordem dos dois
+     * post-processors, e limita as conexões dos dois pools em conjunto.
+     */
+    private static class ReplicaPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Environment environment;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof DataSourceComAdmissao admissao) {
+                if (!(admissao.getTargetDataSource() instanceof DataSourceRoteado)) {
+                    admissao.setTargetDataSource(rotear(admissao.getTargetDataSource()));
+                }
+                return bean;
+            }
+            if (!(bean instanceof DataSource primario) || bean instanceof DataSourceRoteado) {
+                return bean;
+            }
+            return rotear(primario);
+        }
+
+        private DataSourceRoteado rotear(DataSource primario) {
+            // Com open-in-view a sessão segura a primeira conexão até o fim da requisição, e uma
+            // escrita depois de uma leitura na mesma requisição iria para a réplica
+            if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+                throw new IllegalStateException("servico.replica.habilitada=true requires spring.jpa.open-in-view=false");
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(environment.getProperty("servico.replica.driver-class-name",
+                            environment.getProperty("spring.datasource.driver-class-name")))
+                    .url(environment.getRequiredProperty("servico.replica.url"))
+                    .username(environment.getProperty("servico.replica.username",
+                            environment.getProperty("spring.datasource.username")))
+                    .password(environment.getProperty("servico.replica.password",
+                            environment.getProperty("spring.datasource.password")))
+                    .build();
+            replica.setPoolName("replica");
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(environment.getProperty("servico.replica.tamanho-pool", Integer.class,
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+            // Espera curta: sem conexão na réplica, a leitura vai para o primário em vez de aguardar
+            replica.setConnectionTimeout(environment.getProperty("servico.replica.espera-conexao", Duration.class,
+                    Duration.ofSeconds(1)).toMillis());
+            return new DataSourceRoteado(primario, replica,
+                    environment.getProperty("servico.replica.atraso-maximo", Duration.class, Duration.ofSeconds(5)));
+        }
+    }
+}
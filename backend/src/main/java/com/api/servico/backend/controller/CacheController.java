@@ -0,0 +1,49 @@
+package com.api.servico.backend.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.api.servico.backend.config.CacheConfig;
+import com.api.servico.backend.dto.EstatisticasCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Controlador de consulta das estatísticas dos caches.
+ */
+@RestController
+@RequestMapping(value="/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Recupera acertos, falhas e remoções de cada cache.
+     *
+     * @return ResponseEntity contendo as estatísticas de todos os caches.
+     */
+    @GetMapping(value = "/estatisticas")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<List<EstatisticasCache>> estatisticas() {
+        List<EstatisticasCache> lista = new ArrayList<>();
+        for (String nome : CacheConfig.NOMES) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                lista.add(new EstatisticasCache(nome, caffeine.estimatedSize(), stats.hitCount(), stats.missCount(),
+                        stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok().body(lista);
+    }
+}
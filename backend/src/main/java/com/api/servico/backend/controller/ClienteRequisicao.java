@@ -0,0 +1,39 @@
+package com.api.servico.backend.controller;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identifica o cliente de uma requisição: a chave do cabeçalho X-API-Key, se for uma das
+ * configuradas em servico.limite.chaves, ou o endereço remoto. Chaves desconhecidas são
+ * ignoradas, para que trocar de chave a cada requisição não crie um cliente novo.
+ * Usado pelas cotas de requisições e pelo escopo das chaves de idempotência.
+ */
+@Component
+public class ClienteRequisicao {
+
+    static final String CABECALHO_CHAVE = "X-API-Key";
+
+    private final Set<String> chaves;
+
+    public ClienteRequisicao(@Value("${servico.limite.chaves:}") String[] chaves) {
+        this.chaves = Set.copyOf(Arrays.asList(chaves));
+    }
+
+    /**
+     * @param request Requisição recebida.
+     * @return Identificação do cliente, ex.: "chave:abc" ou "ip:10.0.0.1".
+     */
+    public String identificar(HttpServletRequest request) {
+        String chave = request.getHeader(CABECALHO_CHAVE);
+        if (chave != null && chaves.contains(chave)) {
+            return "chave:" + chave;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.servico.backend.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custo de um endpoint no balde de fichas do cliente. Endpoints sem a anotação custam
+ * servico.limite.peso-padrao.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CustoRequisicao {
+
+    /**
+     * Fichas cobradas por requisição. Aceita placeholders, ex.: "${servico.limite.peso.relatorio:5}".
+     */
+    String peso();
+
+    /**
+     * Se true, cobra também uma ficha a cada servico.limite.dias-por-ficha dias do intervalo
+     * entre os parâmetros startDate e endDate.
+     */
+    boolean porIntervalo() default false;
+}
@@ -0,0 +1,100 @@
+package com.api.servico.backend.controller;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.api.servico.backend.dto.TarefaExportacao;
+import com.api.servico.backend.service.CampoData;
+import com.api.servico.backend.service.FormatoExportacao;
+import com.api.servico.backend.service.TarefaExportacaoService;
+
+/**
+ * Controlador das exportações em segundo plano: o cliente submete a tarefa, acompanha o
+ * estado e baixa o arquivo quando ela conclui.
+ */
+@RestController
+@RequestMapping(value="/api/exportacoes")
+public class ExportacaoController {
+
+    @Autowired
+    private TarefaExportacaoService tarefaExportacaoService;
+
+    /**
+     * Submete a exportação dos serviços de um período.
+     *
+     * @param campo     Campo de data usado no filtro: PAGAMENTO, INICIO ou TERMINO.
+     * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param formato   Formato do arquivo: CSV, NDJSON ou JSON. Padrão NDJSON.
+     * @return ResponseEntity 202 com a tarefa criada e a URI para acompanhá-la.
+     */
+    @PostMapping
+    @CustoRequisicao(peso = "${servico.limite.peso.exportacao:5}", porIntervalo = true)
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<TarefaExportacao> submeter(
+            @RequestParam("campo") CampoData campo,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "formato", defaultValue = "NDJSON") FormatoExportacao formato) {
+        TarefaExportacao tarefa = tarefaExportacaoService.submeter(campo, startDate, endDate, formato);
+        URI uri = ServletUriComponentsBuilder
+                .fromCurrentRequest().replaceQuery(null).path("/{id}")
+                .buildAndExpand(tarefa.id()).toUri();
+        return ResponseEntity.accepted().location(uri).body(tarefa);
+    }
+
+    /**
+     * Consulta o estado de uma exportação.
+     *
+     * @param id ID da tarefa.
+     * @return ResponseEntity contendo a situação da tarefa.
+     */
+    @GetMapping(value = "/{id}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<TarefaExportacao> buscar(@PathVariable String id) {
+        return ResponseEntity.ok().body(tarefaExportacaoService.buscar(id));
+    }
+
+    /**
+     * Baixa o arquivo de uma exportação concluída. Responde 409 se ela ainda não concluiu.
+     *
+     * @param id ID da tarefa.
+     * @return ResponseEntity com o arquivo.
+     */
+    @GetMapping(value = "/{id}/arquivo")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<Resource> baixar(@PathVariable String id) {
+        TarefaExportacao tarefa = tarefaExportacaoService.buscar(id);
+        Path arquivo = tarefaExportacaoService.arquivo(id);
+        String nome = "servicos-" + tarefa.campo().name().toLowerCase() + "-" + tarefa.startDate() + "-"
+                + tarefa.endDate() + "." + tarefa.formato().getExtensao();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tarefa.formato().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + "\"")
+                .body(new FileSystemResource(arquivo));
+    }
+
+    /**
+     * Cancela uma exportação em andamento, ou descarta uma terminada com o seu arquivo.
+     *
+     * @param id ID da tarefa.
+     * @return ResponseEntity indicando o sucesso da operação.
+     */
+    @DeleteMapping(value = "/{id}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<Void> cancelar(@PathVariable String id) {
+        tarefaExportacaoService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
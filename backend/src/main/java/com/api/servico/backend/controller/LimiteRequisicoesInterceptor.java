@@ -0,0 +1,112 @@
+package com.api.servico.backend.controller;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.api.servico.backend.service.LimiteRequisicoesService;
+import com.api.servico.backend.service.exceptions.LimiteRequisicoesException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica as cotas de LimiteRequisicoesService antes de cada endpoint e responde 429 com
+ * Retry-After quando o cliente passa do limite.
+ * <p>
+ * O cliente é identificado por {@link ClienteRequisicao}. As consultas por intervalo de datas
+ * custam mais quanto mais largo o intervalo, de modo que relatórios pesados esgotam a cota de
+ * quem os pede sem tirar conexões das telas de cadastro dos demais.
+ */
+public class LimiteRequisicoesInterceptor implements AsyncHandlerInterceptor {
+
+    /** Cota ocupada pela requisição, liberada em afterCompletion. */
+    private static final String ATRIBUTO_COTA = LimiteRequisicoesInterceptor.class.getName() + ".cota";
+
+    private final LimiteRequisicoesService limiteRequisicoesService;
+    private final ClienteRequisicao clienteRequisicao;
+    private final Environment environment;
+    private final long pesoPadrao;
+    private final long diasPorFicha;
+
+    /** Custo resolvido de cada endpoint. */
+    private final Map<Method, Custo> custos = new ConcurrentHashMap<>();
+
+    public LimiteRequisicoesInterceptor(LimiteRequisicoesService limiteRequisicoesService,
+            ClienteRequisicao clienteRequisicao, Environment environment) {
+        this.limiteRequisicoesService = limiteRequisicoesService;
+        this.clienteRequisicao = clienteRequisicao;
+        this.environment = environment;
+        this.pesoPadrao = environment.getProperty("servico.limite.peso-padrao", Long.class, 1L);
+        this.diasPorFicha = Math.max(1, environment.getProperty("servico.limite.dias-por-ficha", Long.class, 31L));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O despacho assíncrono (exportações em streaming) continua uma requisição já admitida
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        LimiteRequisicoesService.Cota cota = limiteRequisicoesService.cota(clienteRequisicao.identificar(request));
+        long espera = cota.consumir(custo(metodo, request));
+        if (espera > 0) {
+            long segundos = Math.max(1, (espera + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+            throw new LimiteRequisicoesException("retry after " + segundos + "s");
+        }
+        if (!cota.entrar()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            throw new LimiteRequisicoesException("too many concurrent requests");
+        }
+        request.setAttribute(ATRIBUTO_COTA, cota);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATRIBUTO_COTA) instanceof LimiteRequisicoesService.Cota cota) {
+            request.removeAttribute(ATRIBUTO_COTA);
+            cota.sair();
+        }
+    }
+
+    private long custo(HandlerMethod metodo, HttpServletRequest request) {
+        Custo custo = custos.computeIfAbsent(metodo.getMethod(), m -> {
+            CustoRequisicao anotacao = metodo.getMethodAnnotation(CustoRequisicao.class);
+            if (anotacao == null) {
+                return new Custo(pesoPadrao, false);
+            }
+            return new Custo(Long.parseLong(environment.resolveRequiredPlaceholders(anotacao.peso()).trim()),
+                    anotacao.porIntervalo());
+        });
+        return custo.porIntervalo() ? custo.peso() + fichasIntervalo(request) : custo.peso();
+    }
+
+    /** Uma ficha a cada diasPorFicha dias do intervalo; datas inválidas ficam para a validação do endpoint. */
+    private long fichasIntervalo(HttpServletRequest request) {
+        String inicio = request.getParameter("startDate");
+        String fim = request.getParameter("endDate");
+        if (inicio == null || fim == null) {
+            return 0;
+        }
+        try {
+            long dias = ChronoUnit.DAYS.between(LocalDate.parse(inicio), LocalDate.parse(fim)) + 1;
+            return dias <= 0 ? 0 : (dias + diasPorFicha - 1) / diasPorFicha;
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private record Custo(long peso, boolean porIntervalo) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.api.servico.backend.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.api.servico.backend.dto.ContagemStatus;
+import com.api.servico.backend.dto.RelatorioAtraso;
+import com.api.servico.backend.dto.RelatorioPeriodo;
+import com.api.servico.backend.dto.TotalStatus;
+import com.api.servico.backend.service.Agrupamento;
+import com.api.servico.backend.service.CampoData;
+import com.api.servico.backend.service.RelatorioService;
+
+/**
+ * Controlador dos relatórios agregados de serviços.
+ */
+@RestController
+@RequestMapping(value="/api/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    /**
+     * Retorna totais, quantidades e saldo em aberto de um intervalo de datas,
+     * agrupados por período e por status.
+     *
+     * @param campo       Campo de data: PAGAMENTO, INICIO ou TERMINO. Padrão PAGAMENTO.
+     * @param startDate   Data de início do intervalo no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate     Data de término do intervalo no formato ISO_DATE (AAAA-MM-DD).
+     * @param agrupamento Granularidade: DIA, SEMANA ou MES. Padrão DIA.
+     * @return ResponseEntity contendo o relatório do intervalo.
+     */
+    @GetMapping(value = "/periodo")
+    @CustoRequisicao(peso = "${servico.limite.peso.relatorio:5}", porIntervalo = true)
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<RelatorioPeriodo> relatorioPeriodo(
+            @RequestParam(value = "campo", defaultValue = "PAGAMENTO") CampoData campo,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "agrupamento", defaultValue = "DIA") Agrupamento agrupamento) {
+        return ResponseEntity.ok().body(relatorioService.gerarRelatorioPeriodo(campo, startDate, endDate, agrupamento));
+    }
+
+    /**
+     * Retorna os totais de todos os serviços por status.
+     *
+     * @return ResponseEntity contendo quantidade, valores e saldo em aberto de cada status.
+     */
+    @GetMapping(value = "/status")
+    @CustoRequisicao(peso = "${servico.limite.peso.relatorio:5}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<List<TotalStatus>> totaisPorStatus() {
+        return ResponseEntity.ok().body(relatorioService.totalizarPorStatus());
+    }
+
+    /**
+     * Retorna a quantidade de serviços de cada status.
+     *
+     * @return ResponseEntity contendo a quantidade de cada status.
+     */
+    @GetMapping(value = "/contagem")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<List<ContagemStatus>> contagemPorStatus() {
+        return ResponseEntity.ok().body(relatorioService.contarPorStatus());
+    }
+
+    /**
+     * Retorna os serviços pendentes por faixa de atraso em relação à data de término.
+     *
+     * @return ResponseEntity contendo quantidade, valores e saldo em aberto de cada faixa.
+     */
+    @GetMapping(value = "/atraso")
+    @CustoRequisicao(peso = "${servico.limite.peso.relatorio:5}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<RelatorioAtraso> relatorioAtraso() {
+        return ResponseEntity.ok().body(relatorioService.gerarRelatorioAtraso());
+    }
+
+    /**
+     * Recalcula o resumo diário usado nos relatórios por data de pagamento.
+     *
+     * @return ResponseEntity contendo a quantidade de linhas do resumo recalculado.
+     */
+    @PostMapping(value = "/resumodiario/reconstruir")
+    @CustoRequisicao(peso = "${servico.limite.peso.reconstrucao:50}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<Integer> reconstruirResumoDiario() {
+        return ResponseEntity.ok().body(relatorioService.reconstruirResumoDiario());
+    }
+}
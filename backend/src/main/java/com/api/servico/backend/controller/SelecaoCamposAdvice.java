@@ -0,0 +1,47 @@
+package com.api.servico.backend.controller;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.api.servico.backend.dto.ResumoServico;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Aplica o parâmetro fields= das listagens: só as propriedades pedidas de ResumoServico são
+ * serializadas. Nomes desconhecidos são ignorados.
+ */
+@ControllerAdvice
+public class SelecaoCamposAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String PARAMETRO = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(PARAMETRO);
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        Set<String> campos = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(ResumoServico.FILTRO_CAMPOS, SimpleBeanPropertyFilter.filterOutAllExcept(campos)));
+    }
+}
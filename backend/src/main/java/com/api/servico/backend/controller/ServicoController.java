@@ -4,18 +4,40 @@ package com.api.servico.backend.controller;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.api.servico.backend.dto.PaginaCursor;
+import com.api.servico.backend.dto.ResultadoBusca;
+import com.api.servico.backend.dto.ResultadoLote;
+import com.api.servico.backend.dto.ResumoServico;
 import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.service.CampoData;
+import com.api.servico.backend.service.ExportacaoService;
+import com.api.servico.backend.service.FeedAlteracoesService;
+import com.api.servico.backend.service.IdempotenciaService;
+import com.api.servico.backend.service.FormatoExportacao;
+import com.api.servico.backend.service.IndiceBuscaService;
+import com.api.servico.backend.service.LoteService;
+import com.api.servico.backend.service.MarcaAlteracoes;
 import com.api.servico.backend.service.ServicoService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 /**
  * Controlador para operações relacionadas à entidade Servico.
  */
@@ -25,17 +47,45 @@ public class ServicoController {
     
     @Autowired
     private ServicoService servicoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    @Autowired
+    private MarcaAlteracoes marcaAlteracoes;
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private ClienteRequisicao clienteRequisicao;
+
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
     
     /**
      * Recupera todos os serviços.
+     * As listagens devolvem o resumo de cada serviço, sem a descrição; o serviço completo
+     * fica em /{id}. Com fields= a resposta traz só as propriedades pedidas, separadas por
+     * vírgula, e a descrição é incluída quando "descricaoServico" estiver entre elas.
+     * As listagens devolvem um ETag; se o If-None-Match ainda corresponder a ele, a resposta
+     * é 304 sem consulta ao banco.
      *
+     * @param fields   Propriedades desejadas, ex.: id,nomeCliente,descricaoServico. Opcional.
+     * @param pageable Página desejada.
+     * @param request  Requisição, para a verificação do If-None-Match.
      * @return ResponseEntity contendo a lista de todos os serviços.
      */
     @GetMapping
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Page<Servico>> findAll(Pageable pageable) {
-        Page<Servico> list = servicoService.buscarTodos(pageable);
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<Page<ResumoServico>> findAll(@RequestParam(value = "fields", required = false) Set<String> fields, Pageable pageable, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarTodos(comDescricao(fields), pageable));
     }
 
     /**
@@ -51,21 +101,39 @@ public class ServicoController {
         return ResponseEntity.ok().body(obj);
     }
 
+    /**
+     * Busca serviços pelo nome do cliente e pela descrição, sem diferenciar acentos e maiúsculas.
+     * Cada termo da busca casa com palavras inteiras ou com o início delas.
+     *
+     * @param q        Texto da busca.
+     * @param pageable Página desejada.
+     * @return ResponseEntity contendo os IDs encontrados, ordenados por relevância.
+     */
+    @GetMapping(value = "/busca")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<Page<ResultadoBusca>> buscar(@RequestParam("q") String q, Pageable pageable) {
+        return ResponseEntity.ok().body(indiceBuscaService.buscar(q, pageable));
+    }
+
+
     /**
      * Retorna uma lista de serviços dentro de um determinado período de datas de pagamento.
      * Este endpoint permite a consulta de serviços com base em suas datas de pagamento.
      *
      * @param startDate Data de início do período desejado. Deve ser formatada no padrão ISO DATE (AAAA-MM-DD).
      * @param endDate Data de término do período desejado. Deve ser formatada no padrão ISO DATE (AAAA-MM-DD).
+     * @param fields Propriedades desejadas (ver findAll). Opcional.
      * @return Uma lista de serviços realizados durante o período de datas de pagamento fornecido.
      * @throws IllegalArgumentException Se as datas fornecidas não estiverem no formato correto ou se startDate for posterior a endDate.
      */
     @GetMapping(value = "/pagospordata")
+    @CustoRequisicao(peso = "${servico.limite.peso.periodo:2}", porIntervalo = true)
     @CrossOrigin(origins = "http://localhost:3000")
-    public List<Servico> buscarServicosPeriodoDataPagamento(
+    public ResponseEntity<List<ResumoServico>> buscarServicosPeriodoDataPagamento(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return servicoService.buscarServicosPeriodoDataPagamento(startDate, endDate);
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosPeriodoDataPagamento(comDescricao(fields), startDate, endDate));
     }
 
     /**
@@ -73,15 +141,18 @@ public class ServicoController {
      *
      * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
      * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
-     * @return Uma lista de objetos Servico que estão dentro do período especificado.
+     * @param fields    Propriedades desejadas (ver findAll). Opcional.
+     * @return Uma lista de resumos dos serviços que estão dentro do período especificado.
      * @throws IllegalArgumentException Se as datas de início e término não estiverem no formato esperado.
      */
     @GetMapping(value = "/iniciopordata")
+    @CustoRequisicao(peso = "${servico.limite.peso.periodo:2}", porIntervalo = true)
     @CrossOrigin(origins = "http://localhost:3000")
-    public List<Servico> buscarServicosPeriodoDataInicio(
+    public ResponseEntity<List<ResumoServico>> buscarServicosPeriodoDataInicio(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return servicoService.buscarServicosPeriodoDataInicio(startDate, endDate);
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosPeriodoDataInicio(comDescricao(fields), startDate, endDate));
     }
 
     /**
@@ -89,19 +160,66 @@ public class ServicoController {
      *
      * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
      * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
-     * @return Uma lista de objetos Servico que estão dentro do período especificado.
+     * @param fields    Propriedades desejadas (ver findAll). Opcional.
+     * @return Uma lista de resumos dos serviços que estão dentro do período especificado.
      * @throws IllegalArgumentException Se as datas de início e término não estiverem no formato esperado.
      */
     @GetMapping(value = "/terminopordata")
+    @CustoRequisicao(peso = "${servico.limite.peso.periodo:2}", porIntervalo = true)
     @CrossOrigin(origins = "http://localhost:3000")
-    public List<Servico> buscarServicosPeriodoDataTermino(
+    public ResponseEntity<List<ResumoServico>> buscarServicosPeriodoDataTermino(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return servicoService.buscarServicosPeriodoDataTermino(startDate, endDate);
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosPeriodoDataTermino(comDescricao(fields), startDate, endDate));
     }
 
 
 
+    /**
+     * Exporta em streaming os serviços de um período, sem carregar o resultado em memória.
+     * As linhas são enviadas ao cliente à medida que são lidas do banco.
+     *
+     * @param campo     Campo de data usado no filtro: PAGAMENTO, INICIO ou TERMINO.
+     * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param formato   Formato de saída: CSV, NDJSON ou JSON. Padrão NDJSON.
+     * @return ResponseEntity com o corpo escrito diretamente na resposta.
+     */
+    @GetMapping(value = "/exportar")
+    @CustoRequisicao(peso = "${servico.limite.peso.exportacao:5}", porIntervalo = true)
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam("campo") CampoData campo,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "formato", defaultValue = "NDJSON") FormatoExportacao formato) {
+        StreamingResponseBody corpo = out -> exportacaoService.exportar(campo, startDate, endDate, formato, out);
+        String arquivo = "servicos-" + campo.name().toLowerCase() + "-" + startDate + "-" + endDate + "." + formato.getExtensao();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo);
+    }
+
+
+    /**
+     * Feed de alterações em Server-Sent Events. Cada evento "alteracao" traz tipo, ID e status
+     * do serviço alterado; o evento "reset" indica que alterações foram perdidas e as listagens
+     * devem ser recarregadas. Na reconexão o navegador envia Last-Event-ID e recebe o que perdeu.
+     *
+     * @param ultimoId ID do último evento recebido, enviado pelo navegador ao reconectar.
+     * @return ResponseEntity com o emitter do feed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoId) {
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // Proxies nginx não devem acumular os eventos
+                .body(feedAlteracoesService.assinar(ultimoId));
+    }
+
+
     /**
      * Recupera serviços com pagamento pendente.
      *
@@ -109,55 +227,130 @@ public class ServicoController {
      */
     @GetMapping(value = "/pagamentopendente")
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Page<Servico>> buscarServicosPagamentoPendente(Pageable pageable) {
-        Page<Servico> list = servicoService.buscarServicosPagamentoPendente(pageable);
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<Page<ResumoServico>> buscarServicosPagamentoPendente(@RequestParam(value = "fields", required = false) Set<String> fields, Pageable pageable, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosPagamentoPendente(comDescricao(fields), pageable));
     }
 
     /**
      * Recupera serviços cancelados.
      *
+     * @param fields   Propriedades desejadas (ver findAll). Opcional.
+     * @param pageable Página desejada.
      * @return ResponseEntity contendo a lista de serviços cancelados.
      */
     @GetMapping(value = "/cancelados")
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Page<Servico>> buscarServicosCancelados(Pageable pageable) {
-    	Page<Servico> list = servicoService.buscarServicosCancelados(pageable);
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<Page<ResumoServico>> buscarServicosCancelados(@RequestParam(value = "fields", required = false) Set<String> fields, Pageable pageable, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosCancelados(comDescricao(fields), pageable));
     }
 
     /**
      * Recupera serviços cancelados.
      *
+     * @param fields   Propriedades desejadas (ver findAll). Opcional.
+     * @param pageable Página desejada.
      * @return ResponseEntity contendo a lista de serviços realizados.
      */
     @GetMapping(value = "/realizados")
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Page<Servico>> buscarServicosRealizados(Pageable pageable) {
-        Page<Servico> list = servicoService.buscarServicosRealizados(pageable);
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<Page<ResumoServico>> buscarServicosRealizados(@RequestParam(value = "fields", required = false) Set<String> fields, Pageable pageable, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosRealizados(comDescricao(fields), pageable));
     }
 
 
 
+    /**
+     * Recupera todos os serviços com paginação por cursor. O custo de cada página
+     * não depende da profundidade da navegação.
+     *
+     * @param cursor Cursor devolvido pela página anterior. Omitir para a primeira página.
+     * @param size   Quantidade de itens da página.
+     * @param total  Se verdadeiro, inclui a contagem total de itens.
+     * @param fields Propriedades desejadas (ver findAll). Opcional.
+     * @param request Requisição, para a verificação do If-None-Match.
+     * @return ResponseEntity contendo a página e o cursor da próxima página.
+     */
+    @GetMapping(value = "/cursor")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<PaginaCursor<ResumoServico>> findAllCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarTodosCursor(comDescricao(fields), cursor, size, total));
+    }
+
+    /**
+     * Recupera serviços com pagamento pendente com paginação por cursor.
+     *
+     * @see #findAllCursor(String, int, boolean, Set, WebRequest)
+     */
+    @GetMapping(value = "/pagamentopendente/cursor")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<PaginaCursor<ResumoServico>> buscarServicosPagamentoPendenteCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosPagamentoPendenteCursor(comDescricao(fields), cursor, size, total));
+    }
+
+    /**
+     * Recupera serviços cancelados com paginação por cursor.
+     *
+     * @see #findAllCursor(String, int, boolean, Set, WebRequest)
+     */
+    @GetMapping(value = "/cancelados/cursor")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<PaginaCursor<ResumoServico>> buscarServicosCanceladosCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosCanceladosCursor(comDescricao(fields), cursor, size, total));
+    }
+
+    /**
+     * Recupera serviços realizados com paginação por cursor.
+     *
+     * @see #findAllCursor(String, int, boolean, Set, WebRequest)
+     */
+    @GetMapping(value = "/realizados/cursor")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<PaginaCursor<ResumoServico>> buscarServicosRealizadosCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            @RequestParam(value = "fields", required = false) Set<String> fields, WebRequest request) {
+        return condicional(request, () -> servicoService.buscarServicosRealizadosCursor(comDescricao(fields), cursor, size, total));
+    }
+
+
     /**
      * Insere um novo serviço.
+     * Com o cabeçalho Idempotency-Key, repetições da requisição devolvem o serviço
+     * inserido na primeira vez em vez de criar outro; a mesma chave com outro corpo responde 422.
      *
-     * @param obj Serviço a ser inserido.
+     * @param obj     Serviço a ser inserido.
+     * @param chave   Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request Requisição, para identificar o cliente dono da chave.
      * @return ResponseEntity contendo o serviço inserido e a URI para acessar o recurso.
      */
     @PostMapping
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Servico> insert(@RequestBody Servico obj) {
-        obj = servicoService.inserir(obj);
+    public ResponseEntity<Servico> insert(@RequestBody Servico obj,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        Servico salvo = idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "inserir", obj,
+                () -> servicoService.inserir(obj));
         URI uri = ServletUriComponentsBuilder
                 .fromCurrentRequest().path("/{id}")
-                .buildAndExpand(obj.getId()).toUri();
-        return ResponseEntity.created(uri).body(obj);
+                .buildAndExpand(salvo.getId()).toUri();
+        return ResponseEntity.created(uri).body(salvo);
     }
 
     /**
      * Atualiza um serviço existente.
+     * Se a versão enviada não for a gravada, responde 409 e o cliente deve recarregar o serviço.
      *
      * @param obj Serviço com as alterações a serem aplicadas.
      * @return O serviço atualizado.
@@ -184,26 +377,105 @@ public class ServicoController {
     /**
      * Cancela um serviço pelo ID.
      *
-     * @param id ID do serviço a ser cancelado.
+     * @param id      ID do serviço a ser cancelado.
+     * @param versao  Versão conhecida pelo cliente. Se informada e diferente da atual, responde 409.
+     * @param chave   Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request Requisição, para identificar o cliente dono da chave.
      * @return ResponseEntity indicando o sucesso da operação.
      */
     @PostMapping(value = "/cancelarservico/{id}")
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Void> cancelarServico(@PathVariable Long id) {
-        servicoService.cancelarServico(id);
+    public ResponseEntity<Void> cancelarServico(@PathVariable Long id,
+            @RequestParam(value = "versao", required = false) Long versao,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "cancelar/" + id, versao,
+                () -> servicoService.cancelarServico(id, versao));
         return ResponseEntity.ok().build();
     }
     
     /**
-     * Cancela um serviço pelo ID.
+     * Reativa um serviço pelo ID, voltando-o para pendente.
      *
-     * @param id ID do serviço a ser cancelado.
+     * @param id      ID do serviço a ser reativado.
+     * @param versao  Versão conhecida pelo cliente. Se informada e diferente da atual, responde 409.
+     * @param chave   Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request Requisição, para identificar o cliente dono da chave.
      * @return ResponseEntity indicando o sucesso da operação.
      */
     @PostMapping(value = "/reativarservico/{id}")
     @CrossOrigin(origins = "http://localhost:3000")
-    public ResponseEntity<Void> reativarServico(@PathVariable Long id) {
-        servicoService.reativarServico(id);
+    public ResponseEntity<Void> reativarServico(@PathVariable Long id,
+            @RequestParam(value = "versao", required = false) Long versao,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "reativar/" + id, versao,
+                () -> servicoService.reativarServico(id, versao));
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Insere vários serviços em uma única transação.
+     *
+     * @param servicos Serviços a serem inseridos.
+     * @param chave    Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request  Requisição, para identificar o cliente dono da chave.
+     * @return ResponseEntity contendo o resultado de cada item.
+     */
+    @PostMapping(value = "/lote")
+    @CustoRequisicao(peso = "${servico.limite.peso.lote:10}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<ResultadoLote> inserirLote(@RequestBody List<Servico> servicos,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        return ResponseEntity.ok().body(idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "lote/inserir", servicos,
+                () -> loteService.inserir(servicos)));
+    }
+
+    /**
+     * Cancela vários serviços em uma única transação.
+     *
+     * @param ids     IDs dos serviços a serem cancelados.
+     * @param chave   Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request Requisição, para identificar o cliente dono da chave.
+     * @return ResponseEntity contendo o resultado de cada ID.
+     */
+    @PostMapping(value = "/lote/cancelar")
+    @CustoRequisicao(peso = "${servico.limite.peso.lote:10}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<ResultadoLote> cancelarLote(@RequestBody List<Long> ids,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        return ResponseEntity.ok().body(idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "lote/cancelar", ids,
+                () -> loteService.cancelar(ids)));
+    }
+
+    /**
+     * Reativa vários serviços em uma única transação.
+     *
+     * @param ids     IDs dos serviços a serem reativados.
+     * @param chave   Chave de idempotência gerada pelo cliente. Opcional.
+     * @param request Requisição, para identificar o cliente dono da chave.
+     * @return ResponseEntity contendo o resultado de cada ID.
+     */
+    @PostMapping(value = "/lote/reativar")
+    @CustoRequisicao(peso = "${servico.limite.peso.lote:10}")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<ResultadoLote> reativarLote(@RequestBody List<Long> ids,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chave, HttpServletRequest request) {
+        return ResponseEntity.ok().body(idempotenciaService.executar(chave, clienteRequisicao.identificar(request), "lote/reativar", ids,
+                () -> loteService.reativar(ids)));
+    }
+
+    /**
+     * Responde 304 sem executar a consulta quando o If-None-Match corresponde à marca atual
+     * das escritas; caso contrário executa a consulta e devolve o ETag da marca lida antes dela.
+     * Com no-cache o navegador guarda a resposta mas sempre a revalida.
+     */
+    private <T> ResponseEntity<T> condicional(WebRequest request, Supplier<T> consulta) {
+        if (request.checkNotModified(marcaAlteracoes.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(consulta.get());
+    }
+
+    private static boolean comDescricao(Set<String> fields) {
+        return fields != null && fields.contains("descricaoServico");
+    }
 }
@@ -0,0 +1,14 @@
+package com.api.servico.backend.dto;
+
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.service.TipoEventoServico;
+
+/**
+ * Alteração de um serviço enviada pelo feed /api/servicos/stream.
+ *
+ * @param tipo   Tipo da alteração.
+ * @param id     ID do serviço.
+ * @param status Status do serviço após a alteração; nulo na exclusão.
+ */
+public record AlteracaoServico(TipoEventoServico tipo, Long id, StatusServico status) {
+}
@@ -0,0 +1,12 @@
+package com.api.servico.backend.dto;
+
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Quantidade de serviços de um status.
+ *
+ * @param status     Status dos serviços.
+ * @param quantidade Quantidade de serviços.
+ */
+public record ContagemStatus(StatusServico status, long quantidade) {
+}
@@ -0,0 +1,14 @@
+package com.api.servico.backend.dto;
+
+/**
+ * Estatísticas de uso de um cache.
+ *
+ * @param nome       Nome do cache.
+ * @param tamanho    Quantidade aproximada de entradas.
+ * @param acertos    Leituras atendidas pelo cache.
+ * @param falhas     Leituras que precisaram ir ao banco.
+ * @param taxaAcerto Proporção de acertos sobre o total de leituras.
+ * @param remocoes   Entradas removidas por tamanho ou expiração.
+ */
+public record EstatisticasCache(String nome, long tamanho, long acertos, long falhas, double taxaAcerto, long remocoes) {
+}
@@ -0,0 +1,20 @@
+package com.api.servico.backend.dto;
+
+/**
+ * Resultado do processamento de um item de um lote.
+ *
+ * @param indice  Posição do item na requisição.
+ * @param id      ID do serviço afetado, quando conhecido.
+ * @param sucesso Se o item foi processado.
+ * @param erro    Motivo da falha, quando houver.
+ */
+public record ItemLote(int indice, Long id, boolean sucesso, String erro) {
+
+    public static ItemLote sucesso(int indice, Long id) {
+        return new ItemLote(indice, id, true, null);
+    }
+
+    public static ItemLote falha(int indice, Long id, String erro) {
+        return new ItemLote(indice, id, false, erro);
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.servico.backend.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados navegada por cursor (keyset).
+ *
+ * @param conteudo      Itens da página.
+ * @param proximoCursor Cursor opaco da próxima página, ou null se esta for a última.
+ * @param total         Total de itens da consulta, presente apenas quando solicitado.
+ */
+public record PaginaCursor<T>(List<T> conteudo, String proximoCursor, Long total) {
+}
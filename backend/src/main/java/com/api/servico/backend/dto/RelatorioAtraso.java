@@ -0,0 +1,13 @@
+package com.api.servico.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Relatório de atraso dos pagamentos pendentes (aging de recebíveis).
+ *
+ * @param dataReferencia Data da última reclassificação completa; as faixas contam o atraso até ela.
+ * @param faixas         Totais de cada faixa, da em dia à mais atrasada.
+ */
+public record RelatorioAtraso(LocalDate dataReferencia, List<TotalFaixaAtraso> faixas) {
+}
@@ -0,0 +1,18 @@
+package com.api.servico.backend.dto;
+
+import java.util.List;
+
+import com.api.servico.backend.service.Agrupamento;
+import com.api.servico.backend.service.CampoData;
+
+/**
+ * Relatório agregado de um intervalo de datas.
+ *
+ * @param campo           Campo de data usado no filtro e no agrupamento.
+ * @param agrupamento     Granularidade dos períodos.
+ * @param periodos        Totais por período e status, em ordem cronológica.
+ * @param totaisPorStatus Totais do intervalo inteiro por status.
+ */
+public record RelatorioPeriodo(CampoData campo, Agrupamento agrupamento, List<ResumoPeriodo> periodos,
+        List<TotalStatus> totaisPorStatus) {
+}
@@ -0,0 +1,10 @@
+package com.api.servico.backend.dto;
+
+/**
+ * Serviço encontrado pela busca textual.
+ *
+ * @param id        ID do serviço.
+ * @param pontuacao Relevância do resultado; maior é melhor.
+ */
+public record ResultadoBusca(Long id, int pontuacao) {
+}
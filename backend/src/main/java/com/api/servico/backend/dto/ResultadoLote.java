@@ -0,0 +1,18 @@
+package com.api.servico.backend.dto;
+
+import java.util.List;
+
+/**
+ * Resultado do processamento de um lote, item a item.
+ *
+ * @param processados Quantidade de itens processados.
+ * @param falhas      Quantidade de itens recusados.
+ * @param itens       Resultado de cada item, na ordem da requisição.
+ */
+public record ResultadoLote(int processados, int falhas, List<ItemLote> itens) {
+
+    public static ResultadoLote de(List<ItemLote> itens) {
+        int processados = (int) itens.stream().filter(ItemLote::sucesso).count();
+        return new ResultadoLote(processados, itens.size() - processados, itens);
+    }
+}
@@ -0,0 +1,23 @@
+package com.api.servico.backend.dto;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.StatusServico;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Totais de um período (dia, semana ou mês) e status.
+ *
+ * @param inicio       Primeiro dia do período.
+ * @param status       Status dos serviços.
+ * @param quantidade   Quantidade de serviços.
+ * @param totalServico Soma de valorServico, em centavos.
+ * @param totalPago    Soma de valorPago, em centavos.
+ * @param saldoAberto  Valor ainda a receber, em centavos (zero para cancelados).
+ */
+public record ResumoPeriodo(LocalDate inicio, StatusServico status, long quantidade,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalServico,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalPago,
+        @JsonSerialize(using = Centavos.Serializador.class) long saldoAberto) {
+}
@@ -0,0 +1,31 @@
+package com.api.servico.backend.dto;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.StatusServico;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Serviço como aparece nas listagens: montado direto pela consulta, sem entidade gerenciada.
+ * A descrição só é lida do banco quando pedida em fields=; o filtro CAMPOS limita as
+ * propriedades serializadas às pedidas em fields=.
+ */
+@JsonFilter(ResumoServico.FILTRO_CAMPOS)
+public record ResumoServico(
+        Long id,
+        String nomeCliente,
+        LocalDate dataInicio,
+        LocalDate dataTermino,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String descricaoServico,
+        @JsonSerialize(using = Centavos.Serializador.class) Long valorServico,
+        @JsonSerialize(using = Centavos.Serializador.class) Long valorPago,
+        LocalDate dataPagamento,
+        StatusServico status,
+        Long versao) {
+
+    /** Nome do filtro Jackson que seleciona as propriedades pedidas em fields=. */
+    public static final String FILTRO_CAMPOS = "camposResumoServico";
+}
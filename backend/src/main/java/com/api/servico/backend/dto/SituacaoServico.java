@@ -0,0 +1,20 @@
+package com.api.servico.backend.dto;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Colunas de um serviço necessárias para aplicar uma troca de status.
+ *
+ * @param id            ID do serviço.
+ * @param versao        Versão atual da linha.
+ * @param status        Status atual.
+ * @param dataPagamento Data de pagamento atual.
+ * @param valorServico  Valor do serviço, em centavos.
+ * @param valorPago     Valor pago, em centavos.
+ * @param dataTermino   Data de término, que define a faixa de atraso ao voltar para pendente.
+ */
+public record SituacaoServico(Long id, Long versao, StatusServico status, LocalDate dataPagamento, Long valorServico,
+        Long valorPago, LocalDate dataTermino) {
+}
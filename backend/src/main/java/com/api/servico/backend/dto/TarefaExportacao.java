@@ -0,0 +1,27 @@
+package com.api.servico.backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.api.servico.backend.service.CampoData;
+import com.api.servico.backend.service.EstadoTarefa;
+import com.api.servico.backend.service.FormatoExportacao;
+
+/**
+ * Situação de uma tarefa de exportação.
+ *
+ * @param id          Identificador da tarefa.
+ * @param estado      Estado atual.
+ * @param campo       Campo de data usado no filtro.
+ * @param startDate   Data de início do período.
+ * @param endDate     Data de término do período.
+ * @param formato     Formato do arquivo.
+ * @param linhas      Serviços exportados, ou null enquanto a tarefa não concluiu.
+ * @param criadaEm    Momento da submissão.
+ * @param concluidaEm Momento em que a tarefa chegou a um estado final, ou null.
+ * @param erro        Mensagem da falha, se o estado for FALHOU.
+ */
+public record TarefaExportacao(String id, EstadoTarefa estado, CampoData campo, LocalDate startDate,
+        LocalDate endDate, FormatoExportacao formato, Long linhas, Instant criadaEm, Instant concluidaEm,
+        String erro) {
+}
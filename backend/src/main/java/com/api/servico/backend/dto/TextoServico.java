@@ -0,0 +1,12 @@
+package com.api.servico.backend.dto;
+
+/**
+ * Campos de texto de um serviço, usados na construção do índice de busca.
+ *
+ * @param id               ID do serviço.
+ * @param versao           Versão da linha no momento da leitura.
+ * @param nomeCliente      Nome do cliente.
+ * @param descricaoServico Descrição do serviço.
+ */
+public record TextoServico(Long id, Long versao, String nomeCliente, String descricaoServico) {
+}
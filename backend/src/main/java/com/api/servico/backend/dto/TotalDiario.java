@@ -0,0 +1,32 @@
+package com.api.servico.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.StatusServico;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Totais de um dia e status, calculados pelo banco com GROUP BY.
+ *
+ * @param dia          Dia do campo de data agrupado.
+ * @param status       Status dos serviços do grupo.
+ * @param quantidade   Quantidade de serviços.
+ * @param totalServico Soma de valorServico, em centavos.
+ * @param totalPago    Soma de valorPago, em centavos.
+ */
+public record TotalDiario(LocalDate dia, StatusServico status, long quantidade,
+        @JsonSerialize(using = Centavos.Serializador.class) Long totalServico,
+        @JsonSerialize(using = Centavos.Serializador.class) Long totalPago) {
+
+    /** Usado pelas consultas sobre servico: SUM sobre colunas DECIMAL chega como BigDecimal. */
+    public TotalDiario(LocalDate dia, StatusServico status, long quantidade, BigDecimal totalServico, BigDecimal totalPago) {
+        this(dia, status, quantidade, Centavos.deDecimal(totalServico), Centavos.deDecimal(totalPago));
+    }
+
+    /** Usado pela consulta sobre resumo_diario, que guarda o código do status. */
+    public TotalDiario(LocalDate dia, byte status, long quantidade, Long totalServico, Long totalPago) {
+        this(dia, StatusServico.deCodigo(status), quantidade, totalServico, totalPago);
+    }
+}
@@ -0,0 +1,39 @@
+package com.api.servico.backend.dto;
+
+import java.math.BigDecimal;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Totais dos serviços pendentes de uma faixa de atraso.
+ *
+ * @param faixa        Faixa de atraso.
+ * @param quantidade   Quantidade de serviços.
+ * @param totalServico Soma de valorServico, em centavos.
+ * @param totalPago    Soma de valorPago, em centavos.
+ * @param saldoAberto  Valor ainda a receber, em centavos.
+ */
+public record TotalFaixaAtraso(FaixaAtraso faixa, long quantidade,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalServico,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalPago,
+        @JsonSerialize(using = Centavos.Serializador.class) long saldoAberto) {
+
+    /** Usado pela consulta: SUM sobre colunas DECIMAL chega como BigDecimal. */
+    public TotalFaixaAtraso(FaixaAtraso faixa, Long quantidade, BigDecimal totalServico, BigDecimal totalPago) {
+        this(faixa, quantidade, Centavos.valor(Centavos.deDecimal(totalServico)),
+                Centavos.valor(Centavos.deDecimal(totalPago)));
+    }
+
+    private TotalFaixaAtraso(FaixaAtraso faixa, long quantidade, long totalServico, long totalPago) {
+        this(faixa, quantidade, totalServico, totalPago, totalServico - totalPago);
+    }
+
+    /**
+     * @return Totais zerados, para faixas sem serviços.
+     */
+    public static TotalFaixaAtraso vazia(FaixaAtraso faixa) {
+        return new TotalFaixaAtraso(faixa, 0L, 0L, 0L);
+    }
+}
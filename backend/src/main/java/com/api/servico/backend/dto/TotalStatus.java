@@ -0,0 +1,33 @@
+package com.api.servico.backend.dto;
+
+import java.math.BigDecimal;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.StatusServico;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Totais de serviços de um status.
+ *
+ * @param status       Status dos serviços.
+ * @param quantidade   Quantidade de serviços.
+ * @param totalServico Soma de valorServico, em centavos.
+ * @param totalPago    Soma de valorPago, em centavos.
+ * @param saldoAberto  Valor ainda a receber, em centavos (zero para cancelados).
+ */
+public record TotalStatus(StatusServico status, long quantidade,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalServico,
+        @JsonSerialize(using = Centavos.Serializador.class) long totalPago,
+        @JsonSerialize(using = Centavos.Serializador.class) long saldoAberto) {
+
+    /** Usado pela consulta: SUM sobre colunas DECIMAL chega como BigDecimal. */
+    public TotalStatus(StatusServico status, Long quantidade, BigDecimal totalServico, BigDecimal totalPago) {
+        this(status, quantidade, Centavos.valor(Centavos.deDecimal(totalServico)),
+                Centavos.valor(Centavos.deDecimal(totalPago)));
+    }
+
+    private TotalStatus(StatusServico status, long quantidade, long totalServico, long totalPago) {
+        this(status, quantidade, totalServico, totalPago,
+                status == StatusServico.CANCELADO ? 0L : totalServico - totalPago);
+    }
+}
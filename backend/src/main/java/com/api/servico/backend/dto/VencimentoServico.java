@@ -0,0 +1,16 @@
+package com.api.servico.backend.dto;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.FaixaAtraso;
+
+/**
+ * Colunas de um serviço pendente necessárias para reclassificar a faixa de atraso.
+ *
+ * @param id          ID do serviço.
+ * @param versao      Versão da linha no momento da leitura.
+ * @param dataTermino Data de término, usada como vencimento.
+ * @param faixaAtraso Faixa gravada.
+ */
+public record VencimentoServico(Long id, Long versao, LocalDate dataTermino, FaixaAtraso faixaAtraso) {
+}
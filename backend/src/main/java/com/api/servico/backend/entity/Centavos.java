@@ -0,0 +1,193 @@
+package com.api.servico.backend.entity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Valores monetários representados como quantidade de centavos em um long.
+ * Comparações e somas são exatas e não alocam; a conversão para decimal só acontece
+ * na fronteira com o banco (CentavosConverter) e com o JSON (Serializador e Desserializador),
+ * que continuam expondo o valor em reais, ex.: 10.50.
+ */
+public final class Centavos {
+
+    private static final int CASAS_DECIMAIS = 2;
+
+    /** Dígitos inteiros que cabem em um long de centavos (Long.MAX_VALUE tem 19 dígitos). */
+    private static final int DIGITOS_INTEIROS_LONG = 19 - CASAS_DECIMAIS;
+
+    /** Dígitos inteiros das colunas DECIMAL(15,2) de valor_servico e valor_pago. */
+    private static final int DIGITOS_INTEIROS_SERVICO = 13;
+
+    /** Maior valor absoluto, em centavos, das colunas DECIMAL(15,2) de servico. */
+    private static final long MAXIMO_SERVICO = 999_999_999_999_999L;
+
+    /** Tamanho máximo do texto numérico aceito no JSON; valores válidos têm poucas dezenas de caracteres. */
+    private static final int TAMANHO_MAXIMO_TEXTO = 64;
+
+    private Centavos() {
+    }
+
+    /**
+     * @return O valor em centavos, tratando nulo como zero.
+     */
+    public static long valor(Long centavos) {
+        return centavos == null ? 0L : centavos;
+    }
+
+    /**
+     * @return Se os dois valores são iguais; dois nulos são iguais.
+     */
+    public static boolean iguais(Long a, Long b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.longValue() == b.longValue();
+    }
+
+    /**
+     * @return Se o valor foi informado e é maior que zero.
+     */
+    public static boolean positivo(Long centavos) {
+        return centavos != null && centavos > 0;
+    }
+
+    /**
+     * @return Se o valor pago cobre integralmente o valor do serviço.
+     */
+    public static boolean quitado(Long valorPago, Long valorServico) {
+        return valorPago != null && valorServico != null && valorPago >= valorServico;
+    }
+
+    /**
+     * Soma que falha em vez de transbordar silenciosamente.
+     */
+    public static long somar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Converte reais em centavos, arredondando para o centavo mais próximo (meio para cima).
+     *
+     * @throws ArithmeticException Se o valor não couber em um long.
+     */
+    public static Long deDecimal(BigDecimal reais) {
+        if (reais == null) {
+            return null;
+        }
+        // Conferido antes do setScale, que para 1e99999999 ou 1e-99999999 trabalharia com 10^8 dígitos
+        long digitos = digitosInteiros(reais);
+        if (digitos > DIGITOS_INTEIROS_LONG) {
+            throw new ArithmeticException("Monetary value out of range");
+        }
+        if (digitos < -CASAS_DECIMAIS) {
+            return 0L; // Menor que 0.001 em valor absoluto: arredonda para zero
+        }
+        return reais.setScale(CASAS_DECIMAIS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte reais informados pelo cliente em centavos, limitados às colunas DECIMAL(15,2) de servico.
+     *
+     * @return O valor em centavos, ou null se ele não couber nas colunas.
+     */
+    static Long deDecimalServico(BigDecimal reais) {
+        if (digitosInteiros(reais) > DIGITOS_INTEIROS_SERVICO) {
+            return null;
+        }
+        long centavos = deDecimal(reais);
+        // 9999999999999.995 tem 13 dígitos inteiros, mas arredonda para 14
+        return Math.abs(centavos) > MAXIMO_SERVICO ? null : centavos;
+    }
+
+    /**
+     * @return Dígitos antes da vírgula, calculados sem expandir o número; negativo para valores menores que 0.1.
+     */
+    private static long digitosInteiros(BigDecimal valor) {
+        return (long) valor.precision() - valor.scale();
+    }
+
+    public static BigDecimal paraDecimal(Long centavos) {
+        return centavos == null ? null : BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+    }
+
+    /**
+     * @return O valor em reais com duas casas decimais e ponto como separador, ex.: -10.05.
+     */
+    public static String formatar(long centavos) {
+        StringBuilder texto = new StringBuilder(24);
+        if (centavos < 0) {
+            texto.append('-');
+        }
+        long absoluto = Math.abs(centavos);
+        long resto = absoluto % 100;
+        texto.append(absoluto / 100).append('.');
+        if (resto < 10) {
+            texto.append('0');
+        }
+        return texto.append(resto).toString();
+    }
+
+    /**
+     * Escreve centavos como número JSON em reais.
+     */
+    public static class Serializador extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long centavos, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(formatar(centavos));
+        }
+    }
+
+    /**
+     * Lê um número (ou texto numérico) JSON em reais como centavos, sem passar por double.
+     * Valores fora das colunas de servico são recusados com InvalidFormatException, que
+     * chega ao cliente como 400.
+     */
+    public static class Desserializador extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                BigDecimal reais = p.getDecimalValue();
+                Long centavos = deDecimalServico(reais);
+                if (centavos == null) {
+                    return (Long) ctxt.handleWeirdNumberValue(Long.class, reais, foraDoLimite());
+                }
+                return centavos;
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                String texto = p.getText().trim();
+                if (texto.isEmpty()) {
+                    return null;
+                }
+                if (texto.length() > TAMANHO_MAXIMO_TEXTO) {
+                    return (Long) ctxt.handleWeirdStringValue(Long.class, texto, foraDoLimite());
+                }
+                Long centavos;
+                try {
+                    centavos = deDecimalServico(new BigDecimal(texto));
+                } catch (NumberFormatException e) {
+                    return (Long) ctxt.handleWeirdStringValue(Long.class, texto, "not a monetary value");
+                }
+                if (centavos == null) {
+                    return (Long) ctxt.handleWeirdStringValue(Long.class, texto, foraDoLimite());
+                }
+                return centavos;
+            }
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+
+        private static String foraDoLimite() {
+            return "monetary value must have at most " + DIGITOS_INTEIROS_SERVICO + " integer digits";
+        }
+    }
+}
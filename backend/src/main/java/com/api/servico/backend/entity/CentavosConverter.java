@@ -0,0 +1,23 @@
+package com.api.servico.backend.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava centavos (long) em colunas DECIMAL com duas casas.
+ */
+@Converter
+public class CentavosConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long centavos) {
+        return Centavos.paraDecimal(centavos);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal reais) {
+        return Centavos.deDecimal(reais);
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.servico.backend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Evento da caixa de saída (outbox), gravado na mesma transação da alteração do serviço
+ * e removido depois de entregue aos destinos.
+ * O ID vem do AUTO_INCREMENT: é atribuído na inserção, e escritas sobre o mesmo serviço
+ * são serializadas pelo bloqueio da linha, então a ordem dos IDs respeita a ordem das alterações.
+ */
+@Entity
+@Table(name = "evento_saida")
+public class EventoSaida implements Serializable {
+
+    /** Identificador de versão serial para garantir a compatibilidade durante a serialização. */
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /** Nome de TipoEventoServico. */
+    @Column(length = 20, nullable = false)
+    private String tipo;
+    @Column(nullable = false)
+    private Long servicoId;
+    private String statusAnterior;
+    private String status;
+    @Column(nullable = false)
+    private LocalDateTime ocorridoEm;
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		EventoSaida other = (EventoSaida) obj;
+		return Objects.equals(id, other.id);
+	}
+
+	public EventoSaida() {
+
+	}
+
+	public Long getId() {
+		return id;
+	}
+	public String getTipo() {
+		return tipo;
+	}
+	public Long getServicoId() {
+		return servicoId;
+	}
+	public String getStatusAnterior() {
+		return statusAnterior;
+	}
+	public String getStatus() {
+		return status;
+	}
+	public LocalDateTime getOcorridoEm() {
+		return ocorridoEm;
+	}
+}
@@ -0,0 +1,44 @@
+package com.api.servico.backend.entity;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Faixa de atraso de um serviço com pagamento pendente, contada a partir da data de término.
+ * Serviços sem data de término, ou com término hoje ou adiante, estão em dia.
+ */
+public enum FaixaAtraso {
+    EM_DIA(0),
+    ATE_30_DIAS(30),
+    DE_31_A_60_DIAS(60),
+    DE_61_A_90_DIAS(90),
+    ACIMA_DE_90_DIAS(Long.MAX_VALUE);
+
+    /** Maior atraso, em dias, que ainda cabe na faixa. */
+    private final long diasMaximo;
+
+    FaixaAtraso(long diasMaximo) {
+        this.diasMaximo = diasMaximo;
+    }
+
+    /**
+     * Classifica um serviço.
+     *
+     * @param status      Status do serviço.
+     * @param dataTermino Data de término, usada como vencimento.
+     * @param hoje        Data de referência.
+     * @return Faixa de atraso, ou null se o serviço não está pendente.
+     */
+    public static FaixaAtraso classificar(StatusServico status, LocalDate dataTermino, LocalDate hoje) {
+        if (status != StatusServico.PENDENTE) {
+            return null;
+        }
+        long dias = dataTermino == null ? 0 : ChronoUnit.DAYS.between(dataTermino, hoje);
+        for (FaixaAtraso faixa : values()) {
+            if (dias <= faixa.diasMaximo) {
+                return faixa;
+            }
+        }
+        return ACIMA_DE_90_DIAS;
+    }
+}
@@ -0,0 +1,77 @@
+package com.api.servico.backend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Totais pré-agregados dos serviços por dia de pagamento e status.
+ * Mantido de forma incremental pelas escritas de ServicoService.
+ */
+@Entity
+@Table(name = "resumo_diario")
+@IdClass(ResumoDiarioId.class)
+public class ResumoDiario implements Serializable {
+
+    /** Identificador de versão serial para garantir a compatibilidade durante a serialização. */
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(columnDefinition = "DATE")
+    private LocalDate data;
+    /** Código de StatusServico; conversores não se aplicam a atributos de ID. */
+    @Id
+    private byte status;
+    private long quantidade;
+    /** Soma de valorServico, em centavos. */
+    @Convert(converter = CentavosConverter.class)
+    @Column(precision = 17, scale = 2, nullable = false)
+    private Long totalServico;
+    /** Soma de valorPago, em centavos. */
+    @Convert(converter = CentavosConverter.class)
+    @Column(precision = 17, scale = 2, nullable = false)
+    private Long totalPago;
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(data, status);
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ResumoDiario other = (ResumoDiario) obj;
+		return Objects.equals(data, other.data) && status == other.status;
+	}
+
+	public ResumoDiario() {
+
+	}
+
+	public LocalDate getData() {
+		return data;
+	}
+	public StatusServico getStatus() {
+		return StatusServico.deCodigo(status);
+	}
+	public long getQuantidade() {
+		return quantidade;
+	}
+	public Long getTotalServico() {
+		return totalServico;
+	}
+	public Long getTotalPago() {
+		return totalPago;
+	}
+}
@@ -0,0 +1,43 @@
+package com.api.servico.backend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Chave composta de ResumoDiario: dia do pagamento e status.
+ */
+public class ResumoDiarioId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate data;
+    /** Código de StatusServico. */
+    private byte status;
+
+    public ResumoDiarioId() {
+
+    }
+
+    public ResumoDiarioId(LocalDate data, StatusServico status) {
+        this.data = data;
+        this.status = status.getCodigo();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data, status);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ResumoDiarioId other = (ResumoDiarioId) obj;
+        return Objects.equals(data, other.data) && status == other.status;
+    }
+}
@@ -5,21 +5,48 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 @Entity
-@Table(name = "servico")
+@Table(name = "servico", indexes = {
+        // Listagens por status; também atende o filtro por data_inicio via skip scan (poucos status distintos)
+        @Index(name = "idx_servico_status_data_inicio", columnList = "status, data_inicio"),
+        // Só o código do status (e o ID, implícito no InnoDB): contagens por status lidas só do índice,
+        // e listagens por cursor de um status já em ordem de ID
+        @Index(name = "idx_servico_status", columnList = "status"),
+        @Index(name = "idx_servico_data_pagamento", columnList = "data_pagamento"),
+        @Index(name = "idx_servico_data_termino", columnList = "data_termino"),
+        // Relatório de atraso por faixa, e listagem de uma faixa pela data de término
+        @Index(name = "idx_servico_faixa_atraso", columnList = "faixa_atraso, data_termino")
+})
 public class Servico implements Serializable {
 
     /** Identificador de versão serial para garantir a compatibilidade durante a serialização. */
     private static final long serialVersionUID = 1L;
+
+    /** Quantidade de IDs reservados a cada acesso à sequência. */
+    public static final int TAMANHO_BLOCO_ID = 50;
     
+    /** IDs reservados em blocos para que as inserções possam ser agrupadas em lotes JDBC. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servico_seq")
+    @SequenceGenerator(name = "servico_seq", sequenceName = "servico_seq", allocationSize = Servico.TAMANHO_BLOCO_ID)
     private Long id;
 
     private String nomeCliente;
@@ -28,11 +55,36 @@ public class Servico implements Serializable {
     @Column(columnDefinition = "DATE")
     private LocalDate dataTermino = LocalDate.now();
     private String descricaoServico;
-    private Double valorServico;
-    private Double valorPago;
+    /** Valor do serviço em centavos (DECIMAL no banco, reais no JSON). */
+    @Convert(converter = CentavosConverter.class)
+    @Column(precision = 15, scale = 2)
+    @JsonSerialize(using = Centavos.Serializador.class)
+    @JsonDeserialize(using = Centavos.Desserializador.class)
+    private Long valorServico;
+    /** Valor pago em centavos (DECIMAL no banco, reais no JSON). */
+    @Convert(converter = CentavosConverter.class)
+    @Column(precision = 15, scale = 2)
+    @JsonSerialize(using = Centavos.Serializador.class)
+    @JsonDeserialize(using = Centavos.Desserializador.class)
+    private Long valorPago;
     @Column(columnDefinition = "DATE")
     private LocalDate dataPagamento;
-    private String status; // "pendente", "realizado", "cancelado"
+    /** Gravado como código TINYINT por StatusServicoConverter. */
+    @Column(nullable = false)
+    private StatusServico status;
+    /** Versão da linha, incrementada a cada alteração, para controle de concorrência otimista. */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+    /**
+     * Faixa de atraso do pagamento, nula fora do status pendente. Mantida pelas escritas e
+     * reclassificada diariamente por ClassificadorAtraso; não altera a versão nem vai ao JSON.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(20)")
+    @JsonIgnore
+    private FaixaAtraso faixaAtraso;
 	
 	
 	@Override
@@ -56,8 +108,8 @@ public class Servico implements Serializable {
 	}
 	
 	public Servico(Long id, String nomeCliente, LocalDate dataInicio, LocalDate dataTermino,
-			String descricaoServico, Double valorServico, Double valorPago, LocalDate dataPagamento,
-			String status) {
+			String descricaoServico, Long valorServico, Long valorPago, LocalDate dataPagamento,
+			StatusServico status) {
 		this.id = id;
 		this.nomeCliente = nomeCliente;
 		this.dataInicio = dataInicio;
@@ -98,16 +150,16 @@ public class Servico implements Serializable {
 	public void setDescricaoServico(String descricaoServico) {
 		this.descricaoServico = descricaoServico;
 	}
-	public Double getValorServico() {
+	public Long getValorServico() {
 		return valorServico;
 	}
-	public void setValorServico(Double valorServico) {
+	public void setValorServico(Long valorServico) {
 		this.valorServico = valorServico;
 	}
-	public Double getValorPago() {
+	public Long getValorPago() {
 		return valorPago;
 	}
-	public void setValorPago(Double valorPago) {
+	public void setValorPago(Long valorPago) {
 		this.valorPago = valorPago;
 	}
 	public LocalDate getDataPagamento() {
@@ -116,12 +168,24 @@ public class Servico implements Serializable {
 	public void setDataPagamento(LocalDate dataPagamento) {
 		this.dataPagamento = dataPagamento;
 	}
-	public String getStatus() {
+	public StatusServico getStatus() {
 		return status;
 	}
-	public void setStatus(String status) {
+	public void setStatus(StatusServico status) {
 		this.status = status;
 	}
+	public Long getVersao() {
+		return versao;
+	}
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
+	public FaixaAtraso getFaixaAtraso() {
+		return faixaAtraso;
+	}
+	public void setFaixaAtraso(FaixaAtraso faixaAtraso) {
+		this.faixaAtraso = faixaAtraso;
+	}
 	
 	
     
@@ -0,0 +1,72 @@
+package com.api.servico.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Status de um serviço. Gravado como código de um byte (StatusServicoConverter) e
+ * apresentado no JSON pelo nome em minúsculas, como antes da conversão.
+ */
+public enum StatusServico {
+    PENDENTE((byte) 1, "pendente"),
+    REALIZADO((byte) 2, "realizado"),
+    CANCELADO((byte) 3, "cancelado");
+
+    private static final StatusServico[] POR_CODIGO = new StatusServico[4];
+
+    static {
+        for (StatusServico status : values()) {
+            POR_CODIGO[status.codigo] = status;
+        }
+    }
+
+    private final byte codigo;
+    private final String nome;
+
+    StatusServico(byte codigo, String nome) {
+        this.codigo = codigo;
+        this.nome = nome;
+    }
+
+    /** @return Código gravado no banco. */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /** @return Nome usado no JSON, nas exportações e nos eventos. */
+    @JsonValue
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * @param codigo Código gravado no banco.
+     * @return Status correspondente.
+     * @throws IllegalArgumentException Se o código não existir.
+     */
+    public static StatusServico deCodigo(byte codigo) {
+        StatusServico status = codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown status code " + codigo);
+        }
+        return status;
+    }
+
+    /**
+     * @param nome Nome do status, sem diferenciar maiúsculas.
+     * @return Status correspondente, ou null se o nome for nulo.
+     * @throws IllegalArgumentException Se o nome não existir.
+     */
+    @JsonCreator
+    public static StatusServico deNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        for (StatusServico status : values()) {
+            if (status.nome.equalsIgnoreCase(nome)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status " + nome);
+    }
+}
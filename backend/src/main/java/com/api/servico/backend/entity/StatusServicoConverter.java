@@ -0,0 +1,21 @@
+package com.api.servico.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava StatusServico pelo código em colunas TINYINT.
+ */
+@Converter(autoApply = true)
+public class StatusServicoConverter implements AttributeConverter<StatusServico, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(StatusServico status) {
+        return status == null ? null : status.getCodigo();
+    }
+
+    @Override
+    public StatusServico convertToEntityAttribute(Byte codigo) {
+        return codigo == null ? null : StatusServico.deCodigo(codigo);
+    }
+}
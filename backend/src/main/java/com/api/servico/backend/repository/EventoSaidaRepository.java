@@ -0,0 +1,30 @@
+package com.api.servico.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.api.servico.backend.entity.EventoSaida;
+
+import jakarta.persistence.LockModeType;
+
+public interface EventoSaidaRepository extends JpaRepository<EventoSaida, Long> {
+
+    /**
+     * Lê os eventos mais antigos ainda não entregues, bloqueando-os até o fim da transação.
+     * Com mais de uma instância, o despacho de uma espera o da outra, preservando a ordem.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT e FROM EventoSaida e ORDER BY e.id")
+    List<EventoSaida> bloquearPendentes(Limit limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM EventoSaida e WHERE e.id IN :ids")
+    int excluir(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,62 @@
+package com.api.servico.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.api.servico.backend.dto.TotalDiario;
+import com.api.servico.backend.entity.ResumoDiario;
+import com.api.servico.backend.entity.ResumoDiarioId;
+
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, ResumoDiarioId> {
+
+    /**
+     * Soma as diferenças informadas à linha do dia e status, criando-a se ainda não existir.
+     * Executado em um único comando para não disputar a linha entre leitura e escrita.
+     * O status é o código gravado (StatusServico.getCodigo()).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO resumo_diario (data, status, quantidade, total_servico, total_pago) 
+            VALUES (:data, :status, :quantidade, :totalServico, :totalPago) 
+                ON DUPLICATE KEY UPDATE 
+                   quantidade = quantidade + VALUES(quantidade), 
+                   total_servico = total_servico + VALUES(total_servico), 
+                   total_pago = total_pago + VALUES(total_pago)
+            """)
+    void acumular(@Param("data") LocalDate data, @Param("status") byte status, @Param("quantidade") long quantidade,
+            @Param("totalServico") BigDecimal totalServico, @Param("totalPago") BigDecimal totalPago);
+
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.TotalDiario(r.data, r.status, r.quantidade, r.totalServico, r.totalPago) 
+              FROM ResumoDiario r 
+             WHERE r.data 
+           BETWEEN :startDate 
+               AND :endDate
+               AND r.quantidade > 0
+            """)
+    List<TotalDiario> buscarPeriodo(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM ResumoDiario r")
+    int excluirTodos();
+
+    /**
+     * Recalcula todas as linhas a partir da tabela servico.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO resumo_diario (data, status, quantidade, total_servico, total_pago) 
+            SELECT s.data_pagamento, s.status, COUNT(*), COALESCE(SUM(s.valor_servico), 0), COALESCE(SUM(s.valor_pago), 0) 
+              FROM servico s 
+             WHERE s.data_pagamento IS NOT NULL 
+               AND s.status IS NOT NULL 
+             GROUP BY s.data_pagamento, s.status
+            """)
+    int recalcular();
+}
@@ -1,66 +1,344 @@
 package com.api.servico.backend.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.api.servico.backend.dto.ContagemStatus;
+import com.api.servico.backend.dto.ResumoServico;
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.dto.TextoServico;
+import com.api.servico.backend.dto.TotalFaixaAtraso;
+import com.api.servico.backend.dto.TotalDiario;
+import com.api.servico.backend.dto.TotalStatus;
+import com.api.servico.backend.dto.VencimentoServico;
+import com.api.servico.backend.entity.FaixaAtraso;
 import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 public interface ServicoRepository extends  JpaRepository<Servico, Long> {
-    
+
+    /** Linhas buscadas por ida ao banco nas consultas de exportação em streaming. */
+    String FETCH_SIZE_EXPORTACAO = "500";
+
+    /**
+     * Colunas das listagens, montadas em ResumoServico. A descrição só é trazida quando
+     * :comDescricao é verdadeiro, para não transferir o texto longo sem necessidade.
+     */
+    String RESUMO = """
+            SELECT new com.api.servico.backend.dto.ResumoServico(
+                   s.id, s.nomeCliente, s.dataInicio, s.dataTermino,
+                   CASE WHEN :comDescricao = true THEN s.descricaoServico END,
+                   s.valorServico, s.valorPago, s.dataPagamento, s.status, s.versao)
+              FROM Servico s
+            """;
+
+    @Query(value = RESUMO,
+            countQuery = "SELECT COUNT(s) FROM Servico s")
+    Page<ResumoServico> listarResumos(@Param("comDescricao") boolean comDescricao, Pageable pageable);
+
+    /**
+     * Pagamento pendente é o status PENDENTE, mantido por RegrasServico e pelas trocas de status.
+     * A igualdade no status usa o índice (status, data_inicio); a contagem, o índice só de status.
+     */
+    @Query(value = RESUMO + """
+             WHERE s.status = PENDENTE
+            """,
+            countQuery = "SELECT COUNT(s) FROM Servico s WHERE s.status = PENDENTE")
+    Page<ResumoServico> buscarServicosPagamentoPendente(@Param("comDescricao") boolean comDescricao, Pageable pageable);
+
+    @Query(value = RESUMO + """
+             WHERE s.status = CANCELADO
+            """,
+            countQuery = "SELECT COUNT(s) FROM Servico s WHERE s.status = CANCELADO")
+    Page<ResumoServico> buscarServicosCancelados(@Param("comDescricao") boolean comDescricao, Pageable pageable);
+
+    @Query(value = RESUMO + """
+             WHERE s.status = REALIZADO
+            """,
+            countQuery = "SELECT COUNT(s) FROM Servico s WHERE s.status = REALIZADO")
+    Page<ResumoServico> buscarServicosRealizados(@Param("comDescricao") boolean comDescricao, Pageable pageable);
+
+    @Query(value = RESUMO + """
+             WHERE s.id > :aposId
+             ORDER BY s.id
+            """)
+    List<ResumoServico> buscarTodosAposId(@Param("comDescricao") boolean comDescricao, @Param("aposId") Long aposId, Limit limite);
+
+    @Query(value = RESUMO + """
+             WHERE s.status = PENDENTE
+               AND s.id > :aposId
+             ORDER BY s.id
+            """)
+    List<ResumoServico> buscarServicosPagamentoPendenteAposId(@Param("comDescricao") boolean comDescricao, @Param("aposId") Long aposId, Limit limite);
+
+    @Query(value = RESUMO + """
+             WHERE s.status = CANCELADO
+               AND s.id > :aposId
+             ORDER BY s.id
+            """)
+    List<ResumoServico> buscarServicosCanceladosAposId(@Param("comDescricao") boolean comDescricao, @Param("aposId") Long aposId, Limit limite);
+
+    @Query(value = RESUMO + """
+             WHERE s.status = REALIZADO
+               AND s.id > :aposId
+             ORDER BY s.id
+            """)
+    List<ResumoServico> buscarServicosRealizadosAposId(@Param("comDescricao") boolean comDescricao, @Param("aposId") Long aposId, Limit limite);
+
     @Query(value = """
-            SELECT s 
+            SELECT COUNT(s) 
               FROM Servico s 
-             WHERE s.valorPago IS NULL
-             	OR s.valorPago = 0
-               AND s.status <> 'cancelado'
+             WHERE s.status = PENDENTE
             """)
-    Page<Servico> buscarServicosPagamentoPendente(Pageable pageable);
+    long contarServicosPagamentoPendente();
+
+    long countByStatus(StatusServico status);
 
+    /**
+     * Quantidade de serviços de cada status, lida apenas do índice idx_servico_status.
+     */
     @Query(value = """
-            SELECT s 
+            SELECT new com.api.servico.backend.dto.ContagemStatus(s.status, COUNT(s)) 
               FROM Servico s 
-             WHERE s.status = 'cancelado'
+             GROUP BY s.status
+            """)
+    List<ContagemStatus> contarPorStatus();
+
+    @Query(value = RESUMO + """
+             WHERE s.dataPagamento 
+           BETWEEN :startDate 
+               AND :endDate
+            """)
+    List<ResumoServico> buscarServicosPeriodoDataPagamento(@Param("comDescricao") boolean comDescricao, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = RESUMO + """
+             WHERE s.dataInicio 
+           BETWEEN :startDate 
+               AND :endDate
+            """)
+    List<ResumoServico> buscarServicosPeriodoDataInicio(@Param("comDescricao") boolean comDescricao, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = RESUMO + """
+             WHERE s.dataTermino 
+           BETWEEN :startDate 
+               AND :endDate
             """)
-    Page<Servico> buscarServicosCancelados(Pageable pageable);
+    List<ResumoServico> buscarServicosPeriodoDataTermino(@Param("comDescricao") boolean comDescricao, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
 
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
     @Query(value = """
             SELECT s 
               FROM Servico s 
-             WHERE s.status = 'realizado'
+             WHERE s.dataPagamento 
+           BETWEEN :startDate 
+               AND :endDate
             """)
-    Page<Servico> buscarServicosRealizados(Pageable pageable);
+    Stream<Servico> percorrerServicosPeriodoDataPagamento(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
     @Query(value = """
             SELECT s 
               FROM Servico s 
-             WHERE s.dataPagamento 
+             WHERE s.dataInicio 
            BETWEEN :startDate 
                AND :endDate
             """)
-    List<Servico> buscarServicosPeriodoDataPagamento(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    Stream<Servico> percorrerServicosPeriodoDataInicio(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
     @Query(value = """
             SELECT s 
               FROM Servico s 
+             WHERE s.dataTermino 
+           BETWEEN :startDate 
+               AND :endDate
+            """)
+    Stream<Servico> percorrerServicosPeriodoDataTermino(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.TotalDiario(s.dataInicio, s.status, COUNT(s), SUM(s.valorServico), SUM(s.valorPago)) 
+              FROM Servico s 
              WHERE s.dataInicio 
            BETWEEN :startDate 
                AND :endDate
+             GROUP BY s.dataInicio, s.status
             """)
-    List<Servico> buscarServicosPeriodoDataInicio(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    List<TotalDiario> totalizarPorDiaDataInicio(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     @Query(value = """
-            SELECT s 
+            SELECT new com.api.servico.backend.dto.TotalDiario(s.dataTermino, s.status, COUNT(s), SUM(s.valorServico), SUM(s.valorPago)) 
               FROM Servico s 
              WHERE s.dataTermino 
            BETWEEN :startDate 
                AND :endDate
+             GROUP BY s.dataTermino, s.status
+            """)
+    List<TotalDiario> totalizarPorDiaDataTermino(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.TotalStatus(s.status, COUNT(s), SUM(s.valorServico), SUM(s.valorPago)) 
+              FROM Servico s 
+             GROUP BY s.status
+            """)
+    List<TotalStatus> totalizarPorStatus();
+
+    /**
+     * Lê e bloqueia as colunas necessárias para trocar o status dos serviços informados.
+     * O bloqueio garante que a situação lida continua válida até o UPDATE da mesma transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.SituacaoServico(s.id, s.versao, s.status, s.dataPagamento, s.valorServico, s.valorPago, s.dataTermino) 
+              FROM Servico s 
+             WHERE s.id IN :ids
+            """)
+    List<SituacaoServico> bloquearSituacoes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lê, sem bloquear, as colunas necessárias para trocar o status de um serviço. A troca é
+     * feita depois por cancelarSeInalterado/reativarSeInalterado, condicionada à versão lida.
+     */
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.SituacaoServico(s.id, s.versao, s.status, s.dataPagamento, s.valorServico, s.valorPago, s.dataTermino) 
+              FROM Servico s 
+             WHERE s.id = :id
+            """)
+    Optional<SituacaoServico> buscarSituacao(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE Servico s 
+               SET s.status = CANCELADO, 
+                   s.faixaAtraso = NULL, 
+                   s.versao = s.versao + 1 
+             WHERE s.id IN :ids
+            """)
+    int cancelarServicos(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE Servico s 
+               SET s.status = PENDENTE, 
+                   s.dataPagamento = NULL, 
+                   s.valorPago = 0, 
+                   s.versao = s.versao + 1 
+             WHERE s.id IN :ids
+            """)
+    int reativarServicos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancela o serviço só se ele ainda está na versão lida e num status que permite o cancelamento.
+     *
+     * @return 1 se cancelou, 0 se a linha mudou desde a leitura.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE Servico s 
+               SET s.status = CANCELADO, 
+                   s.faixaAtraso = NULL, 
+                   s.versao = s.versao + 1 
+             WHERE s.id = :id 
+               AND s.versao = :versao 
+               AND s.status IN :origens
+            """)
+    int cancelarSeInalterado(@Param("id") Long id, @Param("versao") Long versao,
+            @Param("origens") Collection<StatusServico> origens);
+
+    /**
+     * Reativa o serviço só se ele ainda está na versão lida e num status que permite a reativação.
+     *
+     * @return 1 se reativou, 0 se a linha mudou desde a leitura.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE Servico s 
+               SET s.status = PENDENTE, 
+                   s.dataPagamento = NULL, 
+                   s.valorPago = 0, 
+                   s.versao = s.versao + 1 
+             WHERE s.id = :id 
+               AND s.versao = :versao 
+               AND s.status IN :origens
+            """)
+    int reativarSeInalterado(@Param("id") Long id, @Param("versao") Long versao,
+            @Param("origens") Collection<StatusServico> origens);
+
+    /**
+     * Define a faixa de atraso de serviços já bloqueados na transação. Não altera a versão:
+     * a faixa é derivada de status e data de término, e não é uma alteração do cliente.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE Servico s 
+               SET s.faixaAtraso = :faixa 
+             WHERE s.id IN :ids
+            """)
+    int atualizarFaixaAtraso(@Param("faixa") FaixaAtraso faixa, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Vencimentos dos pendentes em ordem de ID, para a reclassificação em lotes.
+     */
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.VencimentoServico(s.id, s.versao, s.dataTermino, s.faixaAtraso) 
+              FROM Servico s 
+             WHERE s.status = PENDENTE 
+               AND s.id > :aposId 
+             ORDER BY s.id
+            """)
+    List<VencimentoServico> buscarVencimentosPendentesAposId(@Param("aposId") Long aposId, Limit limite);
+
+    /**
+     * Totais por faixa de atraso; lê só as linhas classificadas, pelo índice (faixa_atraso, data_termino).
+     * O filtro por status descarta faixas que tenham ficado em linhas alteradas fora da aplicação.
+     */
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.TotalFaixaAtraso(s.faixaAtraso, COUNT(s), SUM(s.valorServico), SUM(s.valorPago)) 
+              FROM Servico s 
+             WHERE s.faixaAtraso IS NOT NULL 
+               AND s.status = PENDENTE 
+             GROUP BY s.faixaAtraso
+            """)
+    List<TotalFaixaAtraso> totalizarPorFaixaAtraso();
+
+    @Query(value = """
+            SELECT new com.api.servico.backend.dto.TextoServico(s.id, s.versao, s.nomeCliente, s.descricaoServico) 
+              FROM Servico s 
+             WHERE s.id > :aposId
+             ORDER BY s.id
             """)
-    List<Servico> buscarServicosPeriodoDataTermino(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    List<TextoServico> buscarTextosAposId(@Param("aposId") Long aposId, Limit limite);
 
 }
\ No newline at end of file
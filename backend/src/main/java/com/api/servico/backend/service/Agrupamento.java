@@ -0,0 +1,36 @@
+package com.api.servico.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade dos períodos nos relatórios.
+ */
+public enum Agrupamento {
+
+    DIA {
+        @Override
+        public LocalDate inicio(LocalDate dia) {
+            return dia;
+        }
+    },
+    SEMANA {
+        @Override
+        public LocalDate inicio(LocalDate dia) {
+            return dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    },
+    MES {
+        @Override
+        public LocalDate inicio(LocalDate dia) {
+            return dia.withDayOfMonth(1);
+        }
+    };
+
+    /**
+     * @param dia Dia qualquer.
+     * @return Primeiro dia do período que contém o dia informado.
+     */
+    public abstract LocalDate inicio(LocalDate dia);
+}
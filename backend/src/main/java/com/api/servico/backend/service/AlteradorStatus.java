@@ -0,0 +1,156 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.servico.backend.config.CacheConfig;
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.ServicoRepository;
+
+/**
+ * Executa trocas de status com um UPDATE por conjunto de IDs, em vez de carregar e gravar cada entidade.
+ * Usado pelas operações individuais de ServicoService e pelas operações em lote de LoteService.
+ * Os lotes bloqueiam as linhas antes do UPDATE; a troca de um serviço com versão informada dispensa
+ * o bloqueio e condiciona o UPDATE à versão lida.
+ */
+@Component
+class AlteradorStatus {
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Lê e bloqueia a situação dos serviços até o fim da transação.
+     *
+     * @param ids IDs dos serviços.
+     * @return Situação de cada serviço encontrado, por ID.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    Map<Long, SituacaoServico> bloquear(Collection<Long> ids) {
+        return servicoRepository.bloquearSituacoes(ids).stream()
+                .collect(Collectors.toMap(SituacaoServico::id, Function.identity()));
+    }
+
+    /**
+     * Aplica a troca de status aos serviços já bloqueados por {@link #bloquear(Collection)}.
+     * Serviços que já estão no status de destino não são alterados.
+     *
+     * @param transicao  Troca de status.
+     * @param situacoes  Situação atual dos serviços.
+     * @return Quantidade de serviços alterados.
+     * @throws TransicaoStatusInvalidaException Se a troca não é permitida para algum dos serviços.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    int aplicar(TransicaoStatus transicao, Collection<SituacaoServico> situacoes) {
+        return aplicar(transicao, situacoes, ids -> switch (transicao) {
+            case CANCELAR -> servicoRepository.cancelarServicos(ids);
+            case REATIVAR -> servicoRepository.reativarServicos(ids);
+        });
+    }
+
+    /**
+     * Aplica a troca de status a um serviço lido sem bloqueio, com um único UPDATE condicionado à
+     * versão lida e aos status de origem permitidos. Como toda escrita incrementa a versão, a linha
+     * alterada é a que foi lida, e o resumo diário é ajustado a partir dela sem nova leitura.
+     *
+     * @param transicao Troca de status.
+     * @param situacao  Situação lida do serviço.
+     * @return false se o serviço mudou depois da leitura e nada foi alterado.
+     * @throws TransicaoStatusInvalidaException Se a troca não é permitida a partir do status lido.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    boolean aplicarSeInalterada(TransicaoStatus transicao, SituacaoServico situacao) {
+        if (transicao.statusDestino() == situacao.status()) {
+            return true;
+        }
+        return aplicar(transicao, List.of(situacao), ids -> switch (transicao) {
+            case CANCELAR -> servicoRepository.cancelarSeInalterado(situacao.id(), situacao.versao(), transicao.origens());
+            case REATIVAR -> servicoRepository.reativarSeInalterado(situacao.id(), situacao.versao(), transicao.origens());
+        }) > 0;
+    }
+
+    private int aplicar(TransicaoStatus transicao, Collection<SituacaoServico> situacoes,
+            Function<List<Long>, Integer> atualizar) {
+        List<Long> ids = new ArrayList<>();
+        List<SituacaoServico> alteradas = new ArrayList<>();
+        List<StatusServico> statusAnteriores = new ArrayList<>();
+        List<ContribuicaoResumo> anteriores = new ArrayList<>();
+        List<ContribuicaoResumo> posteriores = new ArrayList<>();
+        for (SituacaoServico situacao : situacoes) {
+            if (transicao.statusDestino() == situacao.status()) {
+                continue;
+            }
+            MaquinaStatus.validar(situacao.id(), situacao.status(), transicao.statusDestino());
+            ids.add(situacao.id());
+            alteradas.add(situacao);
+            statusAnteriores.add(situacao.status());
+            anteriores.add(ContribuicaoResumo.de(situacao, situacao.status()));
+            posteriores.add(transicao.contribuicaoPosterior(situacao));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int alterados = atualizar.apply(ids);
+        if (alterados == 0) {
+            return 0;
+        }
+        if (transicao == TransicaoStatus.REATIVAR) {
+            classificarAtraso(alteradas);
+        }
+        resumoDiarioService.atualizar(anteriores, posteriores);
+        invalidarCaches(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            eventPublisher.publishEvent(new ServicoEvento(transicao.evento(), ids.get(i), null, statusAnteriores.get(i)));
+        }
+        return alterados;
+    }
+
+    /**
+     * Serviços de volta a pendente entram na faixa de atraso da sua data de término
+     * (o cancelamento já limpa a faixa no próprio UPDATE).
+     */
+    private void classificarAtraso(List<SituacaoServico> reativadas) {
+        LocalDate hoje = LocalDate.now();
+        reativadas.stream()
+                .collect(Collectors.groupingBy(
+                        situacao -> FaixaAtraso.classificar(TransicaoStatus.REATIVAR.statusDestino(), situacao.dataTermino(), hoje),
+                        () -> new EnumMap<>(FaixaAtraso.class),
+                        Collectors.mapping(SituacaoServico::id, Collectors.toList())))
+                .forEach(servicoRepository::atualizarFaixaAtraso);
+    }
+
+    private void invalidarCaches(Collection<Long> ids) {
+        Cache servicos = cacheManager.getCache(CacheConfig.SERVICOS);
+        ids.forEach(servicos::evict);
+        for (String nome : CacheConfig.NOMES) {
+            if (!CacheConfig.SERVICOS.equals(nome)) {
+                cacheManager.getCache(nome).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.api.servico.backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.servico.backend.entity.EventoSaida;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.EventoSaidaRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caixa de saída (outbox) dos eventos de serviço.
+ * <p>
+ * Os ServicoEvento de uma transação são acumulados e gravados em evento_saida em um único lote JDBC
+ * logo antes do commit, de modo que o evento existe se e somente se a alteração foi confirmada.
+ * Um despacho periódico lê os eventos em ordem, entrega cada lote a todos os DestinoEventos e
+ * os remove; se um destino falhar, o lote fica na tabela e é reenviado no ciclo seguinte,
+ * sem que os posteriores passem à frente.
+ */
+@Service
+public class CaixaSaidaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CaixaSaidaService.class);
+
+    private static final String INSERIR = """
+            INSERT INTO evento_saida (tipo, servico_id, status_anterior, status, ocorrido_em)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private EventoSaidaRepository eventoSaidaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private List<DestinoEventos> destinos;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${servico.saida.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLoteJdbc;
+
+    /**
+     * Acumula o evento para gravação no commit da transação da escrita.
+     * Síncrono de propósito: roda dentro da transação que publicou o evento.
+     *
+     * @throws IllegalStateException Se o evento for publicado fora de uma transação.
+     */
+    @EventListener
+    public void aoAlterarServico(ServicoEvento evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("ServicoEvento must be published inside a transaction");
+        }
+        pendentesDaTransacao().add(new Object[] {
+                evento.tipo().name(), evento.id(), nome(evento.statusAnterior()), nome(evento.status()), Timestamp.valueOf(LocalDateTime.now()) });
+    }
+
+    /**
+     * Entrega os eventos pendentes, em lotes, até esvaziar a caixa de saída ou um destino falhar.
+     */
+    @Scheduled(fixedDelayString = "${servico.saida.intervalo:PT1S}")
+    public void despachar() {
+        Counter despachados = meterRegistry.counter("servico.saida.despachados");
+        try {
+            int entregues;
+            do {
+                entregues = transactionTemplate.execute(status -> despacharLote());
+                despachados.increment(entregues);
+            } while (entregues == tamanhoLote);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("servico.saida.falhas").increment();
+            log.warn("Falha ao despachar eventos; nova tentativa no proximo ciclo", e);
+        }
+    }
+
+    private int despacharLote() {
+        List<EventoSaida> lote = eventoSaidaRepository.bloquearPendentes(Limit.of(tamanhoLote));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        for (DestinoEventos destino : destinos) {
+            try {
+                destino.publicar(lote);
+            } catch (Exception e) {
+                throw new IllegalStateException("Destino " + destino.getClass().getSimpleName() + " recusou o lote", e);
+            }
+        }
+        eventoSaidaRepository.excluir(lote.stream().map(EventoSaida::getId).toList());
+        return lote.size();
+    }
+
+    /** Status pelo nome, como nos demais formatos externos (JSON, CSV). */
+    private static String nome(StatusServico status) {
+        return status == null ? null : status.getNome();
+    }
+
+    /**
+     * Lista de linhas da transação atual; na primeira chamada, registra a gravação antes do commit.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendentesDaTransacao() {
+        List<Object[]> pendentes = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            List<Object[]> novas = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcTemplate.batchUpdate(INSERIR, novas, tamanhoLoteJdbc, (ps, linha) -> {
+                        for (int i = 0; i < linha.length; i++) {
+                            ps.setObject(i + 1, linha[i]);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CaixaSaidaService.this);
+                }
+            });
+            pendentes = novas;
+        }
+        return pendentes;
+    }
+}
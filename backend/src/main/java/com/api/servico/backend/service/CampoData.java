@@ -0,0 +1,10 @@
+package com.api.servico.backend.service;
+
+/**
+ * Campo de data da entidade Servico usado nas consultas por período.
+ */
+public enum CampoData {
+    PAGAMENTO,
+    INICIO,
+    TERMINO
+}
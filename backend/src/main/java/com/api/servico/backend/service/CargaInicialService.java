@@ -0,0 +1,63 @@
+package com.api.servico.backend.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tarefas longas da inicialização: a carga do índice de busca e a reclassificação das faixas
+ * de atraso. Os listeners de ApplicationReadyEvent rodam antes de a aplicação passar a aceitar
+ * tráfego (ReadinessState.ACCEPTING_TRAFFIC); por isso as tarefas só são colocadas numa thread
+ * própria, uma após a outra, e a prontidão é anunciada sem esperar por elas.
+ * <p>
+ * Até a carga terminar, a busca responde 503; o relatório de atraso informa a data da última
+ * reclassificação completa.
+ */
+@Service
+public class CargaInicialService {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaInicialService.class);
+
+    private ExecutorService executor;
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    @Autowired
+    private ClassificadorAtraso classificadorAtraso;
+
+    @PostConstruct
+    void iniciar() {
+        executor = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "carga-inicial");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        executor.execute(() -> {
+            try {
+                indiceBuscaService.carregar();
+            } catch (RuntimeException e) {
+                log.error("Falha ao carregar o indice de busca", e);
+            }
+        });
+        executor.execute(classificadorAtraso::classificar);
+    }
+}
@@ -0,0 +1,109 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.servico.backend.dto.VencimentoServico;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.ServicoRepository;
+
+/**
+ * Reclassifica a faixa de atraso dos serviços pendentes, que muda com a passagem dos dias
+ * mesmo sem escritas. Roda na inicialização, em segundo plano (CargaInicialService), e uma vez
+ * por dia, percorrendo os pendentes por ID em lotes, cada um na sua transação, sem carregar a
+ * tabela inteira.
+ * <p>
+ * Só as linhas que mudaram de faixa são gravadas, e o UPDATE confere a versão lida: um serviço
+ * alterado entre a leitura e a gravação já foi classificado pela própria escrita e é mantido.
+ */
+@Service
+public class ClassificadorAtraso {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassificadorAtraso.class);
+
+    private static final String ATUALIZAR = """
+            UPDATE servico SET faixa_atraso = ? WHERE id = ? AND versao = ?
+            """;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${servico.atraso.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /** Data da última reclassificação completa, ou null se ainda não houve nenhuma. */
+    private volatile LocalDate dataReferencia;
+
+    /**
+     * Reclassifica todos os pendentes com a data de hoje. Falhas ficam no log;
+     * os lotes já gravados permanecem e o restante é refeito na próxima execução.
+     */
+    @Scheduled(cron = "${servico.atraso.cron:0 5 0 * * *}")
+    public synchronized void classificar() {
+        long inicio = System.nanoTime();
+        LocalDate hoje = LocalDate.now();
+        long aposId = 0;
+        int lidos = 0;
+        int reclassificados = 0;
+        try {
+            Lote lote;
+            do {
+                long ultimoId = aposId;
+                lote = transactionTemplate.execute(status -> classificarLote(ultimoId, hoje));
+                lidos += lote.lidos();
+                reclassificados += lote.reclassificados();
+                aposId = lote.ultimoId();
+            } while (lote.lidos() == tamanhoLote);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao classificar faixas de atraso apos o ID {}", aposId, e);
+            return;
+        }
+        dataReferencia = hoje;
+        log.info("Faixas de atraso classificadas: {} pendentes, {} reclassificados em {} ms", lidos, reclassificados,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * @return Data da última reclassificação completa, ou null se ainda não houve nenhuma.
+     */
+    public LocalDate getDataReferencia() {
+        return dataReferencia;
+    }
+
+    private Lote classificarLote(long aposId, LocalDate hoje) {
+        List<VencimentoServico> vencimentos = servicoRepository.buscarVencimentosPendentesAposId(aposId, Limit.of(tamanhoLote));
+        List<Object[]> alteracoes = new ArrayList<>();
+        for (VencimentoServico vencimento : vencimentos) {
+            FaixaAtraso faixa = FaixaAtraso.classificar(StatusServico.PENDENTE, vencimento.dataTermino(), hoje);
+            if (faixa != vencimento.faixaAtraso()) {
+                alteracoes.add(new Object[] { faixa.name(), vencimento.id(), vencimento.versao() });
+            }
+        }
+        if (!alteracoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(ATUALIZAR, alteracoes);
+        }
+        long ultimoId = vencimentos.isEmpty() ? aposId : vencimentos.get(vencimentos.size() - 1).id();
+        return new Lote(vencimentos.size(), alteracoes.size(), ultimoId);
+    }
+
+    private record Lote(int lidos, int reclassificados, long ultimoId) {
+    }
+}
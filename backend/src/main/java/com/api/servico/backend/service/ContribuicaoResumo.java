@@ -0,0 +1,38 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Fotografia da parte de um serviço que compõe o resumo diário.
+ * Capturada antes das alterações para que a contribuição antiga possa ser desfeita. Valores em centavos.
+ */
+record ContribuicaoResumo(LocalDate data, StatusServico status, long valorServico, long valorPago) {
+
+    /**
+     * @return A contribuição do serviço, ou null se ele não entra no resumo (sem data de pagamento ou status).
+     */
+    static ContribuicaoResumo de(Servico servico) {
+        if (servico == null || servico.getDataPagamento() == null || servico.getStatus() == null) {
+            return null;
+        }
+        return new ContribuicaoResumo(servico.getDataPagamento(), servico.getStatus(),
+                Centavos.valor(servico.getValorServico()), Centavos.valor(servico.getValorPago()));
+    }
+
+    /**
+     * @param status Status a considerar no lugar do status da situação.
+     * @return A contribuição da situação com o status informado, ou null se ela não entra no resumo.
+     */
+    static ContribuicaoResumo de(SituacaoServico situacao, StatusServico status) {
+        if (situacao.dataPagamento() == null || status == null) {
+            return null;
+        }
+        return new ContribuicaoResumo(situacao.dataPagamento(), status,
+                Centavos.valor(situacao.valorServico()), Centavos.valor(situacao.valorPago()));
+    }
+}
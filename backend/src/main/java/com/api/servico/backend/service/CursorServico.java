@@ -0,0 +1,38 @@
+package com.api.servico.backend.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.api.servico.backend.service.exceptions.CursorInvalidoException;
+
+/**
+ * Codifica e decodifica o cursor opaco da paginação keyset, que guarda o último ID lido.
+ */
+final class CursorServico {
+
+    private CursorServico() {
+    }
+
+    static String codificar(Long ultimoId) {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(ultimoId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return O último ID lido, ou 0 quando o cursor não é informado (primeira página).
+     */
+    static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != Long.BYTES) {
+                throw new CursorInvalidoException(cursor);
+            }
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+}
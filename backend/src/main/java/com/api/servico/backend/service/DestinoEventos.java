@@ -0,0 +1,24 @@
+package com.api.servico.backend.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.api.servico.backend.entity.EventoSaida;
+
+/**
+ * Destino dos eventos da caixa de saída. Todo bean que implementa esta interface recebe
+ * os lotes na ordem em que os eventos foram gravados. A entrega é "pelo menos uma vez":
+ * se o despacho falhar depois de um destino aceitar o lote, ele o recebe de novo,
+ * e o ID do evento permite descartar repetições.
+ */
+public interface DestinoEventos {
+
+    /**
+     * Entrega um lote de eventos. Só deve retornar depois que os eventos estiverem a salvo;
+     * uma exceção faz o lote ser reenviado no próximo ciclo.
+     *
+     * @param eventos Eventos em ordem de ID.
+     * @throws IOException Se a entrega falhar.
+     */
+    void publicar(List<EventoSaida> eventos) throws IOException;
+}
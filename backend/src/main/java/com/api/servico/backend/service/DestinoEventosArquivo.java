@@ -0,0 +1,54 @@
+package com.api.servico.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.api.servico.backend.entity.EventoSaida;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Destino que acrescenta os eventos, um JSON por linha (NDJSON), a um arquivo local.
+ * Cada lote é escrito de uma vez e sincronizado no disco antes de ser confirmado,
+ * para que os eventos só saiam da caixa de saída depois de gravados.
+ */
+public class DestinoEventosArquivo implements DestinoEventos {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel canal;
+
+    public DestinoEventosArquivo(ObjectMapper objectMapper, Path arquivo) throws IOException {
+        this.objectMapper = objectMapper;
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoSaida> eventos) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream(eventos.size() * 160);
+        for (EventoSaida evento : eventos) {
+            objectMapper.writeValue(linhas, evento);
+            linhas.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        canal.force(false);
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.api.servico.backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.api.servico.backend.entity.EventoSaida;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Destino que escreve cada evento, em JSON, no logger servico.eventos.
+ */
+public class DestinoEventosLog implements DestinoEventos {
+
+    private static final Logger log = LoggerFactory.getLogger("servico.eventos");
+
+    private final ObjectMapper objectMapper;
+
+    public DestinoEventosLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publicar(List<EventoSaida> eventos) throws JsonProcessingException {
+        if (log.isInfoEnabled()) {
+            for (EventoSaida evento : eventos) {
+                log.info(objectMapper.writeValueAsString(evento));
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.api.servico.backend.service;
+
+/**
+ * Estados de uma tarefa de exportação. Só CONCLUIDA tem arquivo para download.
+ */
+public enum EstadoTarefa {
+    AGUARDANDO,
+    EXECUTANDO,
+    CONCLUIDA,
+    CANCELADA,
+    FALHOU;
+
+    /** @return true se a tarefa não muda mais de estado. */
+    public boolean isFinal() {
+        return this == CONCLUIDA || this == CANCELADA || this == FALHOU;
+    }
+}
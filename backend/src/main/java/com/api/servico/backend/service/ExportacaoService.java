@@ -0,0 +1,77 @@
+package com.api.servico.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.repository.ServicoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Serviço de exportação em streaming dos serviços de um período.
+ * As linhas são lidas do banco com cursor e escritas diretamente na saída,
+ * de forma que o consumo de memória não depende do tamanho do período.
+ */
+@Service
+public class ExportacaoService {
+
+    /** Quantidade de linhas escritas entre cada descarga da saída. */
+    private static final int LINHAS_POR_DESCARGA = 500;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Exporta os serviços do período para a saída informada.
+     *
+     * @param campo     Campo de data usado no filtro.
+     * @param startDate Data de início do período.
+     * @param endDate   Data de término do período.
+     * @param formato   Formato de saída.
+     * @param out       Destino dos dados.
+     * @return Quantidade de serviços exportados.
+     * @throws IOException Se ocorrer erro de escrita na saída.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(CampoData campo, LocalDate startDate, LocalDate endDate,
+            FormatoExportacao formato, OutputStream out) throws IOException {
+        ExportadorServico exportador = ExportadorServico.criar(formato, objectMapper, out);
+        long total = 0;
+        try (Stream<Servico> servicos = percorrer(campo, startDate, endDate)) {
+            Iterator<Servico> iterator = servicos.iterator();
+            while (iterator.hasNext()) {
+                Servico servico = iterator.next();
+                exportador.escrever(servico);
+                entityManager.detach(servico); // Mantém o contexto de persistência vazio
+                if (++total == 1 || total % LINHAS_POR_DESCARGA == 0) {
+                    exportador.descarregar();
+                }
+            }
+        }
+        exportador.finalizar();
+        return total;
+    }
+
+    private Stream<Servico> percorrer(CampoData campo, LocalDate startDate, LocalDate endDate) {
+        return switch (campo) {
+            case PAGAMENTO -> servicoRepository.percorrerServicosPeriodoDataPagamento(startDate, endDate);
+            case INICIO -> servicoRepository.percorrerServicosPeriodoDataInicio(startDate, endDate);
+            case TERMINO -> servicoRepository.percorrerServicosPeriodoDataTermino(startDate, endDate);
+        };
+    }
+}
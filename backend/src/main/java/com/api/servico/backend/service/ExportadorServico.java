@@ -0,0 +1,178 @@
+package com.api.servico.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.Servico;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Escreve serviços, um a um, diretamente em um OutputStream no formato escolhido.
+ * Nenhum serviço é mantido em memória após ser escrito.
+ */
+public abstract class ExportadorServico {
+
+    /**
+     * Cria o exportador adequado ao formato informado.
+     *
+     * @param formato Formato de saída.
+     * @param mapper  ObjectMapper da aplicação, usado nos formatos JSON.
+     * @param out     Destino dos dados. Não é fechado pelo exportador.
+     * @return Exportador pronto para receber serviços.
+     * @throws IOException Se não for possível iniciar a escrita.
+     */
+    public static ExportadorServico criar(FormatoExportacao formato, ObjectMapper mapper, OutputStream out) throws IOException {
+        return switch (formato) {
+            case CSV -> new Csv(out);
+            case NDJSON -> new Json(mapper, out, false);
+            case JSON -> new Json(mapper, out, true);
+        };
+    }
+
+    /**
+     * Escreve um serviço.
+     *
+     * @param servico Serviço a ser escrito.
+     * @throws IOException Se ocorrer erro de escrita.
+     */
+    public abstract void escrever(Servico servico) throws IOException;
+
+    /**
+     * Envia ao destino os dados já escritos.
+     *
+     * @throws IOException Se ocorrer erro de escrita.
+     */
+    public abstract void descarregar() throws IOException;
+
+    /**
+     * Escreve o encerramento do formato e descarrega o restante dos dados.
+     *
+     * @throws IOException Se ocorrer erro de escrita.
+     */
+    public abstract void finalizar() throws IOException;
+
+    private static final class Json extends ExportadorServico {
+
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+        private final boolean array;
+
+        Json(ObjectMapper mapper, OutputStream out, boolean array) throws IOException {
+            // Sem o flush que o ObjectMapper faz a cada writeValue: a saída só é descarregada em descarregar()
+            this.writer = mapper.writerFor(Servico.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = mapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null); // Em NDJSON o separador é a quebra de linha
+            this.array = array;
+            if (array) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void escrever(Servico servico) throws IOException {
+            writer.writeValue(generator, servico);
+            if (!array) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void descarregar() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            if (array) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends ExportadorServico {
+
+        private static final String CABECALHO =
+                "id;nomeCliente;dataInicio;dataTermino;descricaoServico;valorServico;valorPago;dataPagamento;status\n";
+
+        /** Caracteres que fazem uma célula ser lida como fórmula pelas planilhas. */
+        private static final String INICIO_FORMULA = "=+-@\t\r";
+
+        private final Writer writer;
+
+        Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CABECALHO);
+        }
+
+        @Override
+        public void escrever(Servico servico) throws IOException {
+            writer.write(String.valueOf(servico.getId()));
+            writer.write(';');
+            texto(servico.getNomeCliente());
+            writer.write(';');
+            data(servico.getDataInicio());
+            writer.write(';');
+            data(servico.getDataTermino());
+            writer.write(';');
+            texto(servico.getDescricaoServico());
+            writer.write(';');
+            valor(servico.getValorServico());
+            writer.write(';');
+            valor(servico.getValorPago());
+            writer.write(';');
+            data(servico.getDataPagamento());
+            writer.write(';');
+            texto(servico.getStatus() == null ? null : servico.getStatus().getNome());
+            writer.write('\n');
+        }
+
+        @Override
+        public void descarregar() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Escreve o texto entre aspas. Textos que começam com =, +, -, @, tabulação ou retorno de carro
+         * recebem um apóstrofo na frente, para que a planilha não os interprete como fórmula.
+         */
+        private void texto(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            writer.write('"');
+            if (!valor.isEmpty() && INICIO_FORMULA.indexOf(valor.charAt(0)) >= 0) {
+                writer.write('\'');
+            }
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void data(LocalDate data) throws IOException {
+            if (data != null) {
+                writer.write(data.toString());
+            }
+        }
+
+        private void valor(Long centavos) throws IOException {
+            if (centavos != null) {
+                writer.write(Centavos.formatar(centavos));
+            }
+        }
+    }
+}
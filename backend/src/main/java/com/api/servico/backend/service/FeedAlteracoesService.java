@@ -0,0 +1,278 @@
+package com.api.servico.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.servico.backend.dto.AlteracaoServico;
+import com.api.servico.backend.service.exceptions.LimiteAssinantesException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Feed de alterações dos serviços via Server-Sent Events.
+ * <p>
+ * Cada ServicoEvento confirmado vira uma mensagem serializada uma única vez e distribuída às filas
+ * dos assinantes, sem bloquear a thread da escrita. Cada assinante tem uma fila limitada, esvaziada
+ * por um pool próprio de envio; um cliente lento demais para acompanhar tem a conexão encerrada e,
+ * ao reconectar com Last-Event-ID, recebe o que perdeu a partir do histórico em anel. Se o ID
+ * já saiu do histórico (ou é de uma execução anterior), recebe um evento "reset" e deve recarregar
+ * as listagens.
+ */
+@Service
+public class FeedAlteracoesService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedAlteracoesService.class);
+
+    /** Nome dos eventos com uma alteração. */
+    public static final String EVENTO_ALTERACAO = "alteracao";
+    /** Nome do evento que pede ao cliente para recarregar tudo, pois alterações foram perdidas. */
+    public static final String EVENTO_RESET = "reset";
+
+    /** Distingue os IDs de eventos desta execução dos de execuções anteriores. */
+    private final String prefixo = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger quantidadeAssinantes = new AtomicInteger();
+
+    /** Últimas mensagens, indexadas por sequência módulo o tamanho. Protegido por this. */
+    private Mensagem[] historico;
+    /** Sequência da próxima mensagem. Protegido por this. */
+    private long proximaSequencia = 1;
+
+    private ExecutorService envio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${servico.feed.historico:1024}")
+    private int tamanhoHistorico;
+
+    @Value("${servico.feed.fila-assinante:256}")
+    private int tamanhoFila;
+
+    @Value("${servico.feed.assinantes-maximo:1000}")
+    private int assinantesMaximo;
+
+    @Value("${servico.feed.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${servico.feed.threads-envio:4}")
+    private int threadsEnvio;
+
+    @PostConstruct
+    void iniciar() {
+        historico = new Mensagem[tamanhoHistorico];
+        AtomicInteger contador = new AtomicInteger();
+        envio = Executors.newFixedThreadPool(threadsEnvio, tarefa -> {
+            Thread thread = new Thread(tarefa, "feed-envio-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        assinantes.forEach(Assinante::encerrar);
+        envio.shutdown();
+    }
+
+    /**
+     * Registra um assinante do feed.
+     *
+     * @param ultimoId Valor do cabeçalho Last-Event-ID enviado na reconexão, ou null.
+     * @return Emitter que recebe as alterações a partir de agora, precedidas das perdidas desde ultimoId.
+     * @throws LimiteAssinantesException Se o limite de assinantes simultâneos foi atingido.
+     */
+    public SseEmitter assinar(String ultimoId) {
+        if (quantidadeAssinantes.incrementAndGet() > assinantesMaximo) {
+            quantidadeAssinantes.decrementAndGet();
+            throw new LimiteAssinantesException(assinantesMaximo);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Assinante assinante = new Assinante(emitter);
+        emitter.onCompletion(assinante::remover);
+        emitter.onTimeout(assinante::remover);
+        emitter.onError(erro -> assinante.remover());
+        synchronized (this) {
+            // Reenvio e registro juntos, para que nenhuma mensagem publicada entre eles se perca
+            if (ultimoId != null) {
+                reenviar(assinante, ultimoId);
+            }
+            assinantes.add(assinante);
+        }
+        return emitter;
+    }
+
+    /**
+     * Publica as alterações confirmadas.
+     */
+    @TransactionalEventListener
+    public void aoAlterarServico(ServicoEvento evento) {
+        String dados;
+        try {
+            dados = objectMapper.writeValueAsString(new AlteracaoServico(evento.tipo(), evento.id(), evento.status()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        synchronized (this) {
+            long sequencia = proximaSequencia++;
+            Mensagem mensagem = new Mensagem(prefixo + "-" + sequencia, EVENTO_ALTERACAO, dados);
+            historico[(int) (sequencia % historico.length)] = mensagem;
+            assinantes.forEach(assinante -> assinante.enfileirar(mensagem));
+        }
+    }
+
+    /**
+     * Envia um comentário periódico, que mantém a conexão aberta em proxies e
+     * revela assinantes que já desconectaram.
+     */
+    @Scheduled(fixedRateString = "${servico.feed.heartbeat:PT20S}")
+    public void heartbeat() {
+        assinantes.forEach(assinante -> assinante.enfileirar(Mensagem.HEARTBEAT));
+    }
+
+    /**
+     * Quantidade de assinantes conectados.
+     *
+     * @return Assinantes atuais.
+     */
+    public int getAssinantes() {
+        return quantidadeAssinantes.get();
+    }
+
+    private void reenviar(Assinante assinante, String ultimoId) {
+        long ultimaSequencia = sequencia(ultimoId);
+        long maisAntiga = Math.max(1, proximaSequencia - historico.length);
+        // Perdas maiores que a fila do assinante também viram reset: reenviá-las encheria a fila,
+        // derrubaria a conexão e o cliente voltaria com o mesmo Last-Event-ID
+        if (ultimaSequencia < maisAntiga - 1 || ultimaSequencia >= proximaSequencia
+                || proximaSequencia - 1 - ultimaSequencia > tamanhoFila) {
+            assinante.enfileirar(new Mensagem(prefixo + "-" + (proximaSequencia - 1), EVENTO_RESET, "{}"));
+            return;
+        }
+        for (long s = ultimaSequencia + 1; s < proximaSequencia; s++) {
+            assinante.enfileirar(historico[(int) (s % historico.length)]);
+        }
+    }
+
+    /** Sequência contida no ID, ou -1 se o ID não for desta execução. */
+    private long sequencia(String id) {
+        if (!id.startsWith(prefixo + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(prefixo.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Mensagem pronta para envio; sem nome, é enviada como comentário. */
+    private record Mensagem(String id, String nome, String dados) {
+        static final Mensagem HEARTBEAT = new Mensagem(null, null, null);
+
+        SseEmitter.SseEventBuilder evento() {
+            if (nome == null) {
+                return SseEmitter.event().comment("");
+            }
+            return SseEmitter.event().id(id).name(nome).data(dados);
+        }
+    }
+
+    /**
+     * Assinante com sua fila. Só a tarefa de envio escreve no emitter, de modo que
+     * um cliente lento nunca bloqueia quem publica.
+     */
+    private final class Assinante implements Runnable {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Mensagem> fila = new ArrayBlockingQueue<>(tamanhoFila);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean removido = new AtomicBoolean();
+        private volatile boolean encerrado;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enfileirar(Mensagem mensagem) {
+            if (encerrado) {
+                return;
+            }
+            if (!fila.offer(mensagem)) {
+                // Fila cheia: encerra a conexão; o cliente reconecta e recupera pelo histórico
+                log.debug("Assinante do feed lento demais, desconectando");
+                encerrar();
+                return;
+            }
+            agendar();
+        }
+
+        void encerrar() {
+            encerrado = true;
+            agendar();
+        }
+
+        void remover() {
+            encerrado = true;
+            if (removido.compareAndSet(false, true)) {
+                assinantes.remove(this);
+                quantidadeAssinantes.decrementAndGet();
+            }
+        }
+
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    envio.execute(this);
+                } catch (RuntimeException e) {
+                    agendado.set(false); // Pool encerrado
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Mensagem mensagem;
+                while (!encerrado && (mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem.evento());
+                }
+                if (encerrado) {
+                    fila.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já concluído
+                encerrado = true;
+                fila.clear();
+                emitter.completeWithError(e);
+            } finally {
+                agendado.set(false);
+                if (!encerrado && !fila.isEmpty()) {
+                    agendar();
+                }
+            }
+        }
+    }
+}
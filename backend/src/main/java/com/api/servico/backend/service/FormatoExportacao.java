@@ -0,0 +1,27 @@
+package com.api.servico.backend.service;
+
+/**
+ * Formatos suportados na exportação de serviços.
+ */
+public enum FormatoExportacao {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson"),
+    JSON("application/json", "json");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,132 @@
+package com.api.servico.backend.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.api.servico.backend.service.exceptions.ChaveIdempotenciaInvalidaException;
+import com.api.servico.backend.service.exceptions.ChaveIdempotenciaReutilizadaException;
+import com.api.servico.backend.service.exceptions.RequisicaoEmAndamentoException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Guarda o resultado das escritas feitas com o cabeçalho Idempotency-Key, para que o cliente
+ * possa repetir a requisição sem gravar de novo. Os registros ficam em memória, limitados
+ * por quantidade e tempo de vida.
+ * <p>
+ * A chave vale por cliente e por operação: a mesma chave enviada por outro cliente, ou usada em
+ * inserir e em cancelar/5, são registros distintos. Cada registro guarda o SHA-256 da requisição;
+ * uma repetição com a mesma requisição recebe o resultado da primeira execução, e uma com outra
+ * requisição é recusada com 422. Operações que falham não são registradas e podem ser repetidas.
+ */
+@Service
+public class IdempotenciaService {
+
+    /** Tamanho máximo aceito para a chave enviada pelo cliente. */
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    /** Resultado registrado para operações sem retorno. */
+    private static final Object SEM_RESULTADO = new Object();
+
+    private final Cache<Identificacao, Registro> registros;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaService(
+            @Value("${servico.idempotencia.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${servico.idempotencia.expiracao:24h}") Duration expiracao,
+            ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .build();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave, cliente e operação. Sem chave, apenas executa.
+     *
+     * @param chave      Valor do cabeçalho Idempotency-Key, ou null.
+     * @param cliente    Identificação do cliente que enviou a requisição.
+     * @param operacao   Identificação da operação, ex.: "cancelar/5".
+     * @param requisicao Dados da requisição (corpo e parâmetros), comparados nas repetições.
+     * @param acao       Operação a executar.
+     * @return Resultado da operação, ou o resultado registrado na primeira execução.
+     * @throws RequisicaoEmAndamentoException        Se a primeira execução com a mesma chave ainda não terminou.
+     * @throws ChaveIdempotenciaInvalidaException    Se a chave for vazia ou longa demais.
+     * @throws ChaveIdempotenciaReutilizadaException Se a chave já foi usada com outra requisição.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String chave, String cliente, String operacao, Object requisicao, Supplier<T> acao) {
+        if (chave == null) {
+            return acao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ChaveIdempotenciaInvalidaException("Idempotency-Key must have 1 to " + TAMANHO_MAXIMO_CHAVE + " characters");
+        }
+        Identificacao id = new Identificacao(cliente, operacao, chave);
+        // Calculado antes da execução, que pode alterar o objeto recebido (ex.: o ID do serviço inserido)
+        Registro novo = new Registro(resumo(requisicao));
+        Registro existente = registros.asMap().putIfAbsent(id, novo);
+        if (existente != null) {
+            if (!MessageDigest.isEqual(existente.resumo, novo.resumo)) {
+                throw new ChaveIdempotenciaReutilizadaException(chave);
+            }
+            Object resultado = existente.resultado;
+            if (resultado == null) {
+                // Sem espera: a primeira execução pode demorar, e o cliente repete mais tarde
+                throw new RequisicaoEmAndamentoException(chave);
+            }
+            return resultado == SEM_RESULTADO ? null : (T) resultado;
+        }
+        try {
+            T resultado = acao.get();
+            novo.resultado = resultado == null ? SEM_RESULTADO : resultado;
+            return resultado;
+        } catch (RuntimeException e) {
+            registros.asMap().remove(id, novo);
+            throw e;
+        }
+    }
+
+    /**
+     * Executa uma operação sem retorno uma única vez por chave, cliente e operação.
+     *
+     * @see #executar(String, String, String, Object, Supplier)
+     */
+    public void executar(String chave, String cliente, String operacao, Object requisicao, Runnable acao) {
+        executar(chave, cliente, operacao, requisicao, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    /** SHA-256 da requisição serializada em JSON, que não depende de espaços e formatação do corpo recebido. */
+    private byte[] resumo(Object requisicao) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(requisicao));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the request", e);
+        }
+    }
+
+    private record Identificacao(String cliente, String operacao, String chave) {
+    }
+
+    /** Registro de uma chave: resultado nulo enquanto a primeira execução não termina. */
+    private static final class Registro {
+        private final byte[] resumo;
+        private volatile Object resultado;
+
+        Registro(byte[] resumo) {
+            this.resumo = resumo;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.api.servico.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.servico.backend.dto.ResultadoBusca;
+import com.api.servico.backend.dto.TextoServico;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.repository.ServicoRepository;
+import com.api.servico.backend.service.exceptions.IndiceEmCargaException;
+
+/**
+ * Índice invertido em memória sobre nomeCliente e descricaoServico.
+ * Construído em segundo plano na inicialização (CargaInicialService) a partir do banco e mantido
+ * pelos eventos de ServicoService, permite buscar por termos (sem acentos, sem diferenciar
+ * maiúsculas, por prefixo) sem executar LIKE '%x%' no banco.
+ */
+@Service
+public class IndiceBuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaService.class);
+
+    /** Serviços lidos por consulta durante a carga inicial. */
+    private static final int LOTE_CARGA = 1000;
+    /** Termos mais curtos que isso só casam de forma exata, para não percorrer faixas enormes do índice. */
+    private static final int TAMANHO_MINIMO_PREFIXO = 2;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final byte CAMPO_NOME = 1;
+    private static final byte CAMPO_DESCRICAO = 2;
+
+    private static final int PESO_NOME_EXATO = 8;
+    private static final int PESO_NOME_PREFIXO = 4;
+    private static final int PESO_DESCRICAO_EXATO = 2;
+    private static final int PESO_DESCRICAO_PREFIXO = 1;
+
+    /** Termo -> (ID do serviço -> campos em que o termo aparece). */
+    private final ConcurrentSkipListMap<String, Map<Long, Byte>> termos = new ConcurrentSkipListMap<>();
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+    /** Exclusões recebidas enquanto a carga inicial ainda pode trazer a linha de volta. */
+    private final Set<Long> excluidosDuranteCarga = ConcurrentHashMap.newKeySet();
+    private volatile boolean carregado;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    /**
+     * Carrega o índice percorrendo a tabela por ID, em lotes, sem materializá-la inteira.
+     * Escritas concorrentes com a carga continuam sendo aplicadas ao índice.
+     */
+    public void carregar() {
+        long inicio = System.nanoTime();
+        long aposId = 0;
+        List<TextoServico> lote;
+        do {
+            lote = servicoRepository.buscarTextosAposId(aposId, Limit.of(LOTE_CARGA));
+            for (TextoServico texto : lote) {
+                carregarDocumento(texto);
+                aposId = texto.id();
+            }
+        } while (lote.size() == LOTE_CARGA);
+        carregado = true;
+        excluidosDuranteCarga.clear();
+        log.info("Indice de busca carregado: {} servicos, {} termos em {} ms", documentos.size(), termos.size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Mantém o índice atualizado após o commit das escritas.
+     */
+    @TransactionalEventListener
+    public void aoAlterarServico(ServicoEvento evento) {
+        switch (evento.tipo()) {
+            case CRIADO, ATUALIZADO -> {
+                Servico servico = evento.servico();
+                indexar(servico.getId(), servico.getVersao(), servico.getNomeCliente(), servico.getDescricaoServico());
+            }
+            case EXCLUIDO -> remover(evento.id());
+            default -> {
+                // Trocas de status não alteram os campos de texto
+            }
+        }
+    }
+
+    /**
+     * Busca serviços cujos campos contenham todos os termos da consulta (como palavra ou prefixo).
+     * Ocorrências no nome do cliente pesam mais que na descrição, e termos exatos mais que prefixos.
+     *
+     * @param consulta Texto da busca.
+     * @param pageable Página desejada.
+     * @return IDs dos serviços encontrados, do mais ao menos relevante.
+     * @throws IndiceEmCargaException Se a carga inicial ainda não terminou.
+     */
+    public Page<ResultadoBusca> buscar(String consulta, Pageable pageable) {
+        if (!carregado) {
+            // Um resultado parcial pareceria completo ao cliente
+            throw new IndiceEmCargaException();
+        }
+        String[] termosConsulta = tokenizar(consulta);
+        if (termosConsulta.length == 0) {
+            return Page.empty(pageable);
+        }
+        Map<Long, Integer> pontuacoes = null;
+        for (String termo : termosConsulta) {
+            Map<Long, Integer> doTermo = pontuar(termo);
+            if (pontuacoes == null) {
+                pontuacoes = doTermo;
+            } else {
+                Map<Long, Integer> anteriores = pontuacoes;
+                pontuacoes = new HashMap<>();
+                for (Map.Entry<Long, Integer> entrada : doTermo.entrySet()) {
+                    Integer anterior = anteriores.get(entrada.getKey());
+                    if (anterior != null) {
+                        pontuacoes.put(entrada.getKey(), anterior + entrada.getValue());
+                    }
+                }
+            }
+            if (pontuacoes.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        List<ResultadoBusca> resultados = new ArrayList<>(pontuacoes.size());
+        pontuacoes.forEach((id, pontuacao) -> resultados.add(new ResultadoBusca(id, pontuacao)));
+        resultados.sort(Comparator.comparingInt(ResultadoBusca::pontuacao).reversed()
+                .thenComparing(ResultadoBusca::id, Comparator.reverseOrder()));
+
+        int inicio = (int) Math.min(pageable.getOffset(), resultados.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), resultados.size());
+        return new PageImpl<>(resultados.subList(inicio, fim), pageable, resultados.size());
+    }
+
+    /**
+     * Inclui ou substitui um serviço no índice. Versões mais antigas que a indexada são ignoradas.
+     */
+    synchronized void indexar(Long id, Long versao, String nomeCliente, String descricaoServico) {
+        Documento atual = documentos.get(id);
+        if (atual != null) {
+            if (atual.versao() != null && versao != null && atual.versao() >= versao) {
+                return;
+            }
+            desindexar(id, atual);
+        }
+        Documento documento = new Documento(versao, tokenizar(nomeCliente), tokenizar(descricaoServico));
+        for (String termo : documento.termosNome()) {
+            termos.computeIfAbsent(termo, k -> new ConcurrentHashMap<>()).merge(id, CAMPO_NOME, (a, b) -> (byte) (a | b));
+        }
+        for (String termo : documento.termosDescricao()) {
+            termos.computeIfAbsent(termo, k -> new ConcurrentHashMap<>()).merge(id, CAMPO_DESCRICAO, (a, b) -> (byte) (a | b));
+        }
+        documentos.put(id, documento);
+    }
+
+    synchronized void remover(Long id) {
+        if (!carregado) {
+            excluidosDuranteCarga.add(id);
+        }
+        Documento documento = documentos.remove(id);
+        if (documento != null) {
+            desindexar(id, documento);
+        }
+    }
+
+    private synchronized void carregarDocumento(TextoServico texto) {
+        if (!excluidosDuranteCarga.contains(texto.id())) {
+            indexar(texto.id(), texto.versao(), texto.nomeCliente(), texto.descricaoServico());
+        }
+    }
+
+    private void desindexar(Long id, Documento documento) {
+        for (String termo : documento.termosNome()) {
+            removerOcorrencia(termo, id);
+        }
+        for (String termo : documento.termosDescricao()) {
+            removerOcorrencia(termo, id);
+        }
+    }
+
+    private void removerOcorrencia(String termo, Long id) {
+        Map<Long, Byte> ocorrencias = termos.get(termo);
+        if (ocorrencias != null) {
+            ocorrencias.remove(id);
+            if (ocorrencias.isEmpty()) {
+                termos.remove(termo, ocorrencias);
+            }
+        }
+    }
+
+    /**
+     * @return Melhor pontuação de cada serviço para o termo, considerando o termo exato e os que começam com ele.
+     */
+    private Map<Long, Integer> pontuar(String termo) {
+        Map<String, Map<Long, Byte>> faixa;
+        if (termo.length() < TAMANHO_MINIMO_PREFIXO) {
+            // Uma única leitura: o termo pode ser removido por uma escrita concorrente a qualquer momento
+            Map<Long, Byte> ocorrencias = termos.get(termo);
+            faixa = ocorrencias == null ? Map.of() : Map.of(termo, ocorrencias);
+        } else {
+            faixa = termos.subMap(termo, true, termo + Character.MAX_VALUE, true);
+        }
+        Map<Long, Integer> pontuacoes = new HashMap<>();
+        faixa.forEach((indexado, ocorrencias) -> {
+            boolean exato = indexado.equals(termo);
+            ocorrencias.forEach((id, campos) -> {
+                int peso = 0;
+                if ((campos & CAMPO_NOME) != 0) {
+                    peso = exato ? PESO_NOME_EXATO : PESO_NOME_PREFIXO;
+                }
+                if ((campos & CAMPO_DESCRICAO) != 0) {
+                    peso = Math.max(peso, exato ? PESO_DESCRICAO_EXATO : PESO_DESCRICAO_PREFIXO);
+                }
+                pontuacoes.merge(id, peso, Math::max);
+            });
+        });
+        return pontuacoes;
+    }
+
+    /**
+     * Separa o texto em termos sem acentos e em minúsculas, sem repetições.
+     */
+    static String[] tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return new String[0];
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARADORES.split(normalizado))
+                .filter(termo -> !termo.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .toArray(String[]::new);
+    }
+
+    private record Documento(Long versao, String[] termosNome, String[] termosDescricao) {
+    }
+}
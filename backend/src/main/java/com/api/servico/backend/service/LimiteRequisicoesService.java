@@ -0,0 +1,181 @@
+package com.api.servico.backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Cotas de requisições por cliente: um balde de fichas, que limita a taxa, e um limite de
+ * requisições simultâneas, que impede um cliente de ocupar sozinho as conexões do banco.
+ * <p>
+ * O balde guarda um único instante por cliente, o momento em que ele estaria cheio de novo
+ * (algoritmo GCRA, equivalente ao balde de fichas). Consumir é um compareAndSet sobre esse
+ * instante, sem locks nem thread de reposição. As cotas ficam em memória, limitadas por
+ * quantidade e descartadas quando o cliente fica inativo. Uma cota com requisições em andamento
+ * não expira, por mais longas que elas sejam (exportações, relatórios de períodos amplos): uma
+ * cota nova começaria sem contar essas requisições e o limite de simultâneas deixaria de valer.
+ */
+@Service
+public class LimiteRequisicoesService {
+
+    private final Cache<String, Cota> cotas;
+    private final long capacidade;
+    private final long nanosPorFicha;
+    private final int simultaneasMaximo;
+
+    private final LongAdder recusadasTaxa = new LongAdder();
+    private final LongAdder recusadasSimultaneas = new LongAdder();
+
+    public LimiteRequisicoesService(
+            @Value("${servico.limite.capacidade:100}") long capacidade,
+            @Value("${servico.limite.fichas-por-segundo:50}") long fichasPorSegundo,
+            @Value("${servico.limite.simultaneas:10}") int simultaneasMaximo,
+            @Value("${servico.limite.clientes-maximo:100000}") long clientesMaximo,
+            @Value("${servico.limite.inatividade:PT1M}") Duration inatividadeMinima) {
+        if (capacidade < 1 || fichasPorSegundo < 1) {
+            throw new IllegalArgumentException("servico.limite.capacidade and servico.limite.fichas-por-segundo must be positive");
+        }
+        this.capacidade = capacidade;
+        this.nanosPorFicha = TimeUnit.SECONDS.toNanos(1) / fichasPorSegundo;
+        this.simultaneasMaximo = simultaneasMaximo;
+        // Um cliente inativo pelo tempo de encher o balde teria de volta a capacidade inteira:
+        // descartá-lo antes disso não muda nada para ele
+        long inatividade = Math.max(capacidade * nanosPorFicha, inatividadeMinima.toNanos());
+        this.cotas = Caffeine.newBuilder()
+                .maximumSize(clientesMaximo)
+                .expireAfter(new ExpiracaoCota(inatividade))
+                .build();
+    }
+
+    /**
+     * @param cliente Identificação do cliente (chave de API ou endereço).
+     * @return Cota do cliente, criada com o balde cheio se ainda não existir.
+     */
+    public Cota cota(String cliente) {
+        return cotas.get(cliente, Cota::new);
+    }
+
+    /** @return Requisições recusadas por falta de fichas. */
+    public long getRecusadasTaxa() {
+        return recusadasTaxa.sum();
+    }
+
+    /** @return Requisições recusadas pelo limite de simultâneas. */
+    public long getRecusadasSimultaneas() {
+        return recusadasSimultaneas.sum();
+    }
+
+    /** @return Clientes com cota em memória. */
+    public long getClientes() {
+        return cotas.estimatedSize();
+    }
+
+    /**
+     * Cota de um cliente. Quem chamou {@link #entrar()} com sucesso deve chamar {@link #sair()}
+     * na mesma instância.
+     */
+    public final class Cota {
+
+        private final String cliente;
+        /** Instante (System.nanoTime) em que o balde estará cheio; no passado, está cheio. */
+        private final AtomicLong cheio = new AtomicLong(System.nanoTime());
+        private final AtomicInteger simultaneas = new AtomicInteger();
+
+        private Cota(String cliente) {
+            this.cliente = cliente;
+        }
+
+        /**
+         * Retira fichas do balde. Custos acima da capacidade são cobrados como a capacidade,
+         * para que uma requisição cara esvazie o balde em vez de nunca ser aceita.
+         *
+         * @param fichas Custo da requisição.
+         * @return 0 se as fichas foram retiradas; senão, nanossegundos até haver fichas suficientes.
+         */
+        public long consumir(long fichas) {
+            long custo = Math.min(Math.max(fichas, 0), capacidade) * nanosPorFicha;
+            long tolerancia = capacidade * nanosPorFicha;
+            while (true) {
+                long agora = System.nanoTime();
+                long atual = cheio.get();
+                long novo = (atual - agora > 0 ? atual : agora) + custo;
+                long espera = novo - agora - tolerancia;
+                if (espera > 0) {
+                    recusadasTaxa.increment();
+                    return espera;
+                }
+                if (cheio.compareAndSet(atual, novo)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * @return true se a requisição pode prosseguir; false se o cliente já está no limite de simultâneas.
+         */
+        public boolean entrar() {
+            if (simultaneas.incrementAndGet() > simultaneasMaximo) {
+                simultaneas.decrementAndGet();
+                recusadasSimultaneas.increment();
+                return false;
+            }
+            renovarExpiracao();
+            return true;
+        }
+
+        public void sair() {
+            simultaneas.decrementAndGet();
+            renovarExpiracao();
+        }
+
+        /**
+         * Recalcula a expiração pela contagem atual de simultâneas. O compute é atômico por cliente
+         * e lê a contagem dentro dele: o último a rodar, depois da última alteração, vale.
+         * Se a cota saiu do cache entre cota() e entrar() (só por limite de tamanho), ela volta.
+         */
+        private void renovarExpiracao() {
+            cotas.asMap().compute(cliente, (c, atual) -> atual == null ? this : atual);
+        }
+    }
+
+    /**
+     * Expira a cota após o período de inatividade, contado da última leitura ou alteração,
+     * e nunca enquanto houver requisições em andamento.
+     */
+    private static final class ExpiracaoCota implements Expiry<String, Cota> {
+
+        private final long inatividade;
+
+        ExpiracaoCota(long inatividade) {
+            this.inatividade = inatividade;
+        }
+
+        private long duracao(Cota cota) {
+            return cota.simultaneas.get() > 0 ? Long.MAX_VALUE : inatividade;
+        }
+
+        @Override
+        public long expireAfterCreate(String cliente, Cota cota, long agora) {
+            return duracao(cota);
+        }
+
+        @Override
+        public long expireAfterUpdate(String cliente, Cota cota, long agora, long restante) {
+            return duracao(cota);
+        }
+
+        @Override
+        public long expireAfterRead(String cliente, Cota cota, long agora, long restante) {
+            return duracao(cota);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.api.servico.backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.servico.backend.config.CacheConfig;
+import com.api.servico.backend.dto.ItemLote;
+import com.api.servico.backend.dto.ResultadoLote;
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.service.exceptions.LoteInvalidoException;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Operações em lote sobre serviços, executadas em uma única transação.
+ * As inserções são enviadas ao banco em lotes JDBC (hibernate.jdbc.batch_size),
+ * o que é possível porque os IDs vêm de uma sequência reservada em blocos.
+ */
+@Service
+public class LoteService {
+
+    @Autowired
+    private AlteradorStatus alteradorStatus;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${servico.lote.tamanho-maximo:10000}")
+    private int tamanhoMaximo;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLoteJdbc;
+
+    /**
+     * Insere vários serviços. Itens recusados pelas regras de negócio são reportados
+     * individualmente e não impedem a gravação dos demais.
+     *
+     * @param servicos Serviços a serem inseridos.
+     * @return Resultado de cada item.
+     */
+    @Transactional
+    public ResultadoLote inserir(List<Servico> servicos) {
+        validarTamanho(servicos);
+        List<ItemLote> itens = new ArrayList<>(servicos.size());
+        List<ContribuicaoResumo> contribuicoes = new ArrayList<>();
+        int pendentes = 0;
+        for (int i = 0; i < servicos.size(); i++) {
+            Servico servico = servicos.get(i);
+            if (servico == null) {
+                itens.add(ItemLote.falha(i, null, "Item vazio"));
+                continue;
+            }
+            if (servico.getId() != null) {
+                itens.add(ItemLote.falha(i, servico.getId(), "ID nao deve ser informado na insercao"));
+                continue;
+            }
+            try {
+                RegrasServico.aplicarInsercao(servico);
+            } catch (RuntimeException e) {
+                itens.add(ItemLote.falha(i, null, "Dados invalidos: " + e.getMessage()));
+                continue;
+            }
+            entityManager.persist(servico);
+            contribuicoes.add(ContribuicaoResumo.de(servico));
+            itens.add(ItemLote.sucesso(i, servico.getId()));
+            eventPublisher.publishEvent(new ServicoEvento(TipoEventoServico.CRIADO, servico.getId(), servico, null));
+            if (++pendentes % tamanhoLoteJdbc == 0) {
+                // Envia o lote ao banco e libera as entidades já gravadas
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        resumoDiarioService.atualizar(List.of(), contribuicoes);
+        limparPaginas();
+        return ResultadoLote.de(itens);
+    }
+
+    /**
+     * Cancela vários serviços.
+     *
+     * @param ids IDs dos serviços.
+     * @return Resultado de cada ID; IDs inexistentes ou já realizados são reportados como falha.
+     */
+    @Transactional
+    public ResultadoLote cancelar(List<Long> ids) {
+        return alterarStatus(ids, TransicaoStatus.CANCELAR);
+    }
+
+    /**
+     * Reativa vários serviços, voltando-os para pendente.
+     *
+     * @param ids IDs dos serviços.
+     * @return Resultado de cada ID; IDs inexistentes são reportados como falha.
+     */
+    @Transactional
+    public ResultadoLote reativar(List<Long> ids) {
+        return alterarStatus(ids, TransicaoStatus.REATIVAR);
+    }
+
+    private ResultadoLote alterarStatus(List<Long> ids, TransicaoStatus transicao) {
+        validarTamanho(ids);
+        Map<Long, SituacaoServico> situacoes = alteradorStatus.bloquear(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+        List<ItemLote> itens = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            SituacaoServico situacao = id == null ? null : situacoes.get(id);
+            if (situacao == null) {
+                itens.add(ItemLote.falha(i, id, "Servico nao encontrado"));
+            } else if (situacao.status() != transicao.statusDestino()
+                    && !MaquinaStatus.permitida(situacao.status(), transicao.statusDestino())) {
+                itens.add(ItemLote.falha(i, id, "Transicao de status invalida: " + situacao.status().getNome()
+                        + " -> " + transicao.statusDestino().getNome()));
+            } else {
+                itens.add(ItemLote.sucesso(i, id));
+            }
+        }
+        // Os que não podem ir ao destino ficam de fora, e os demais seguem num único UPDATE
+        situacoes.values().removeIf(situacao -> situacao.status() != transicao.statusDestino()
+                && !MaquinaStatus.permitida(situacao.status(), transicao.statusDestino()));
+        alteradorStatus.aplicar(transicao, situacoes.values());
+        return ResultadoLote.de(itens);
+    }
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new LoteInvalidoException("Lote vazio");
+        }
+        if (itens.size() > tamanhoMaximo) {
+            throw new LoteInvalidoException("Lote com " + itens.size() + " itens excede o maximo de " + tamanhoMaximo);
+        }
+    }
+
+    private void limparPaginas() {
+        for (String nome : CacheConfig.NOMES) {
+            if (!CacheConfig.SERVICOS.equals(nome)) {
+                cacheManager.getCache(nome).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.api.servico.backend.service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.service.exceptions.TransicaoStatusInvalidaException;
+
+/**
+ * Trocas de status permitidas. Só serviços pendentes podem ser alterados, pagos ou cancelados;
+ * realizados e cancelados só saem do status pela reativação, que os devolve a pendente.
+ */
+final class MaquinaStatus {
+
+    /** Status possíveis de um serviço novo. */
+    private static final Set<StatusServico> INICIAIS = EnumSet.of(StatusServico.PENDENTE, StatusServico.REALIZADO);
+
+    private static final Map<StatusServico, Set<StatusServico>> DESTINOS = new EnumMap<>(StatusServico.class);
+
+    static {
+        DESTINOS.put(StatusServico.PENDENTE, EnumSet.allOf(StatusServico.class));
+        DESTINOS.put(StatusServico.REALIZADO, EnumSet.of(StatusServico.PENDENTE));
+        DESTINOS.put(StatusServico.CANCELADO, EnumSet.of(StatusServico.PENDENTE));
+    }
+
+    private MaquinaStatus() {
+    }
+
+    /**
+     * @param atual   Status gravado, ou null para um serviço novo.
+     * @param destino Status após a escrita.
+     * @return Se a troca é permitida.
+     */
+    static boolean permitida(StatusServico atual, StatusServico destino) {
+        return atual == null ? INICIAIS.contains(destino) : DESTINOS.get(atual).contains(destino);
+    }
+
+    /**
+     * @param destino Status após a troca.
+     * @return Status gravados a partir dos quais a troca para destino é permitida, exceto o próprio destino.
+     */
+    static Set<StatusServico> origens(StatusServico destino) {
+        Set<StatusServico> origens = EnumSet.noneOf(StatusServico.class);
+        DESTINOS.forEach((atual, destinos) -> {
+            if (atual != destino && destinos.contains(destino)) {
+                origens.add(atual);
+            }
+        });
+        return origens;
+    }
+
+    /**
+     * @param id      ID do serviço, para a mensagem de erro.
+     * @param atual   Status gravado, ou null para um serviço novo.
+     * @param destino Status após a escrita.
+     * @throws TransicaoStatusInvalidaException Se a troca não é permitida.
+     */
+    static void validar(Long id, StatusServico atual, StatusServico destino) {
+        if (!permitida(atual, destino)) {
+            throw new TransicaoStatusInvalidaException(id, atual == null ? null : atual.getNome(),
+                    destino == null ? null : destino.getNome());
+        }
+    }
+
+    /**
+     * Valida a alteração dos dados de um serviço, que só é aceita enquanto ele está pendente.
+     *
+     * @param id      ID do serviço, para a mensagem de erro.
+     * @param atual   Status gravado.
+     * @param destino Status após a alteração.
+     * @throws TransicaoStatusInvalidaException Se o serviço não está pendente ou a troca não é permitida.
+     */
+    static void validarAlteracao(Long id, StatusServico atual, StatusServico destino) {
+        if (atual != StatusServico.PENDENTE) {
+            throw new TransicaoStatusInvalidaException(id, atual.getNome());
+        }
+        validar(id, atual, destino);
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.servico.backend.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Marca d'água das escritas na tabela servico, usada como ETag das listagens.
+ * É incrementada a cada ServicoEvento, de modo que duas leituras com a mesma marca
+ * veem os mesmos dados e a verificação do If-None-Match dispensa a consulta ao banco.
+ * <p>
+ * A marca é mantida em memória, assim como os caches de CacheConfig: escritas feitas por
+ * outra instância ou diretamente no banco não a alteram. O prefixo sorteado na inicialização
+ * impede que ETags de uma execução anterior sejam aceitos depois de um reinício.
+ */
+@Component
+public class MarcaAlteracoes {
+
+    private final String prefixo = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private final AtomicLong marca = new AtomicLong();
+
+    /**
+     * ETag correspondente ao estado atual da tabela.
+     * Deve ser lido antes da consulta, para que uma escrita concorrente gere um ETag novo na próxima leitura.
+     * É fraco porque o Tomcat não comprime respostas com ETag forte (a versão gzip teria outros bytes);
+     * o If-None-Match é comparado de forma fraca de qualquer jeito.
+     *
+     * @return ETag fraco, ex.: W/"k3j9x2-17".
+     */
+    public String etag() {
+        return "W/\"" + prefixo + "-" + marca.get() + "\"";
+    }
+
+    /**
+     * Incrementa a marca ao fim da transação da escrita. AFTER_COMPLETION roda depois de todos
+     * os callbacks de commit, inclusive as evicções dos caches transacionais; incrementar antes
+     * delas permitiria associar a marca nova a uma página ainda em cache com os dados antigos.
+     * Em rollback o incremento só custa uma resposta 200 a mais.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void aoAlterarServico(ServicoEvento evento) {
+        marca.incrementAndGet();
+    }
+}
@@ -0,0 +1,65 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Regras de negócio aplicadas aos serviços antes de serem gravados.
+ * Além do status, definem a faixa de atraso, para que o serviço gravado já esteja classificado.
+ */
+final class RegrasServico {
+
+    private RegrasServico() {
+    }
+
+    /**
+     * Define status e data de pagamento de um serviço novo a partir do valor pago.
+     * Todo serviço sai daqui com status, pois as listagens filtram apenas por ele.
+     *
+     * @param servico Serviço a ser inserido.
+     */
+    static void aplicarInsercao(Servico servico) {
+        if (!Centavos.positivo(servico.getValorPago())) {
+            servico.setStatus(StatusServico.PENDENTE);
+        } else {
+            if (servico.getDataPagamento() == null) {
+            	servico.setDataPagamento(LocalDate.now());
+            }
+            servico.setStatus(StatusServico.REALIZADO);
+        }
+        servico.setFaixaAtraso(FaixaAtraso.classificar(servico.getStatus(), servico.getDataTermino(), LocalDate.now()));
+    }
+
+    /**
+     * Ajusta status e data de pagamento de um serviço alterado, comparando-o com o que está gravado.
+     *
+     * @param obj       Serviço recebido na alteração.
+     * @param existente Serviço atualmente gravado.
+     */
+    static void aplicarAlteracao(Servico obj, Servico existente) {
+        if (obj.getStatus() == null) {
+            obj.setStatus(existente.getStatus()); // Clientes que não enviam o status mantêm o gravado
+        }
+        if (obj.getValorPago() != null && !Centavos.iguais(obj.getValorPago(), existente.getValorPago())) {
+            existente.setValorPago(obj.getValorPago());
+        }
+
+        // Verifica se o valor pago é maior que zero e se o status não é realizado antes de atualizar
+        if (Centavos.positivo(existente.getValorPago()) && existente.getStatus() != StatusServico.REALIZADO) {
+            obj.setStatus(StatusServico.REALIZADO);
+            obj.setValorPago(existente.getValorPago());
+            obj.setDataPagamento(LocalDate.now());
+        }
+        
+        // Pagamento integral
+        if (Centavos.quitado(obj.getValorPago(), obj.getValorServico())) {
+        	obj.setDataPagamento(LocalDate.now());
+        	obj.setStatus(StatusServico.REALIZADO);	        	
+        }
+        obj.setFaixaAtraso(FaixaAtraso.classificar(obj.getStatus(), obj.getDataTermino(), LocalDate.now()));
+    }
+}
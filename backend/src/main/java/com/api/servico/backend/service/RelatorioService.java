@@ -0,0 +1,155 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.servico.backend.dto.ContagemStatus;
+import com.api.servico.backend.dto.RelatorioAtraso;
+import com.api.servico.backend.dto.RelatorioPeriodo;
+import com.api.servico.backend.dto.ResumoPeriodo;
+import com.api.servico.backend.dto.TotalDiario;
+import com.api.servico.backend.dto.TotalFaixaAtraso;
+import com.api.servico.backend.dto.TotalStatus;
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.FaixaAtraso;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.ServicoRepository;
+
+/**
+ * Serviço de relatórios agregados de receita e valores a receber.
+ * A agregação por dia é feita no banco (pela data de pagamento, lida do resumo diário);
+ * semanas e meses são consolidados a partir dos totais diários, sem trafegar os serviços
+ * individualmente.
+ */
+@Service
+public class RelatorioService {
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private ClassificadorAtraso classificadorAtraso;
+
+    /**
+     * Gera o relatório de um intervalo de datas agrupado por período e status.
+     *
+     * @param campo       Campo de data usado no filtro e no agrupamento.
+     * @param startDate   Data de início do intervalo.
+     * @param endDate     Data de término do intervalo.
+     * @param agrupamento Granularidade dos períodos.
+     * @return Relatório com os totais por período e por status.
+     */
+    @Transactional(readOnly = true)
+    public RelatorioPeriodo gerarRelatorioPeriodo(CampoData campo, LocalDate startDate, LocalDate endDate, Agrupamento agrupamento) {
+        List<TotalDiario> totaisDiarios = totalizarPorDia(campo, startDate, endDate);
+
+        Map<LocalDate, Map<StatusServico, Acumulador>> porPeriodo = new TreeMap<>();
+        Map<StatusServico, Acumulador> porStatus = new LinkedHashMap<>();
+        for (TotalDiario total : totaisDiarios) {
+            porPeriodo.computeIfAbsent(agrupamento.inicio(total.dia()), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(total.status(), k -> new Acumulador())
+                    .somar(total);
+            porStatus.computeIfAbsent(total.status(), k -> new Acumulador()).somar(total);
+        }
+
+        List<ResumoPeriodo> periodos = new ArrayList<>();
+        porPeriodo.forEach((inicio, grupos) -> grupos.forEach((status, acumulador) ->
+                periodos.add(new ResumoPeriodo(inicio, status, acumulador.quantidade, acumulador.totalServico,
+                        acumulador.totalPago, saldoAberto(status, acumulador)))));
+
+        List<TotalStatus> totaisPorStatus = new ArrayList<>();
+        porStatus.forEach((status, acumulador) ->
+                totaisPorStatus.add(new TotalStatus(status, acumulador.quantidade, acumulador.totalServico,
+                        acumulador.totalPago, saldoAberto(status, acumulador))));
+        totaisPorStatus.sort(Comparator.comparing(TotalStatus::status, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new RelatorioPeriodo(campo, agrupamento, periodos, totaisPorStatus);
+    }
+
+    /**
+     * Recalcula o resumo diário a partir da tabela servico.
+     *
+     * @return Quantidade de linhas do resumo recalculado.
+     */
+    public int reconstruirResumoDiario() {
+        return resumoDiarioService.reconstruir();
+    }
+
+    /**
+     * Totaliza todos os serviços por status.
+     *
+     * @return Quantidade, valores e saldo em aberto de cada status.
+     */
+    @Transactional(readOnly = true)
+    public List<TotalStatus> totalizarPorStatus() {
+        return servicoRepository.totalizarPorStatus();
+    }
+
+    /**
+     * Conta os serviços de cada status, sem ler as linhas da tabela.
+     *
+     * @return Quantidade de cada status, inclusive os sem serviços, na ordem do enum.
+     */
+    @Transactional(readOnly = true)
+    public List<ContagemStatus> contarPorStatus() {
+        Map<StatusServico, ContagemStatus> porStatus = new EnumMap<>(StatusServico.class);
+        for (StatusServico status : StatusServico.values()) {
+            porStatus.put(status, new ContagemStatus(status, 0));
+        }
+        servicoRepository.contarPorStatus().forEach(contagem -> porStatus.put(contagem.status(), contagem));
+        return List.copyOf(porStatus.values());
+    }
+
+    /**
+     * Totaliza os serviços pendentes por faixa de atraso, a partir da faixa gravada.
+     *
+     * @return Relatório com todas as faixas, inclusive as vazias, da em dia à mais atrasada.
+     */
+    @Transactional(readOnly = true)
+    public RelatorioAtraso gerarRelatorioAtraso() {
+        Map<FaixaAtraso, TotalFaixaAtraso> porFaixa = new EnumMap<>(FaixaAtraso.class);
+        for (FaixaAtraso faixa : FaixaAtraso.values()) {
+            porFaixa.put(faixa, TotalFaixaAtraso.vazia(faixa));
+        }
+        servicoRepository.totalizarPorFaixaAtraso().forEach(total -> porFaixa.put(total.faixa(), total));
+        return new RelatorioAtraso(classificadorAtraso.getDataReferencia(), new ArrayList<>(porFaixa.values()));
+    }
+
+    private List<TotalDiario> totalizarPorDia(CampoData campo, LocalDate startDate, LocalDate endDate) {
+        return switch (campo) {
+            case PAGAMENTO -> resumoDiarioService.buscarPeriodo(startDate, endDate);
+            case INICIO -> servicoRepository.totalizarPorDiaDataInicio(startDate, endDate);
+            case TERMINO -> servicoRepository.totalizarPorDiaDataTermino(startDate, endDate);
+        };
+    }
+
+    private static long saldoAberto(StatusServico status, Acumulador acumulador) {
+        return status == StatusServico.CANCELADO ? 0L : acumulador.totalServico - acumulador.totalPago;
+    }
+
+    /** Totais em centavos: somas exatas, sem o arredondamento acumulado de double. */
+    private static final class Acumulador {
+        private long quantidade;
+        private long totalServico;
+        private long totalPago;
+
+        void somar(TotalDiario total) {
+            quantidade += total.quantidade();
+            totalServico = Centavos.somar(totalServico, Centavos.valor(total.totalServico()));
+            totalPago = Centavos.somar(totalPago, Centavos.valor(total.totalPago()));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.api.servico.backend.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.servico.backend.dto.TotalDiario;
+import com.api.servico.backend.entity.Centavos;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.ResumoDiarioRepository;
+
+/**
+ * Mantém a tabela resumo_diario, com os totais dos serviços por dia de pagamento e status.
+ * Os relatórios por data de pagamento leem essa tabela, que tem uma linha por dia e status,
+ * em vez de varrer a tabela servico.
+ */
+@Service
+public class ResumoDiarioService {
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    /**
+     * Aplica ao resumo a troca de contribuições causada por uma escrita.
+     * Deve ser chamado na mesma transação que altera os serviços.
+     *
+     * @param removidas   Contribuições anteriores à escrita (nulos são ignorados).
+     * @param adicionadas Contribuições posteriores à escrita (nulos são ignorados).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void atualizar(Collection<ContribuicaoResumo> removidas, Collection<ContribuicaoResumo> adicionadas) {
+        Map<Chave, Diferenca> diferencas = new HashMap<>();
+        for (ContribuicaoResumo contribuicao : removidas) {
+            if (contribuicao != null) {
+                diferencas.computeIfAbsent(new Chave(contribuicao.data(), contribuicao.status()), k -> new Diferenca())
+                        .somar(-1, contribuicao);
+            }
+        }
+        for (ContribuicaoResumo contribuicao : adicionadas) {
+            if (contribuicao != null) {
+                diferencas.computeIfAbsent(new Chave(contribuicao.data(), contribuicao.status()), k -> new Diferenca())
+                        .somar(1, contribuicao);
+            }
+        }
+        diferencas.forEach((chave, diferenca) -> {
+            if (!diferenca.nula()) {
+                resumoDiarioRepository.acumular(chave.data(), chave.status().getCodigo(), diferenca.quantidade,
+                        Centavos.paraDecimal(diferenca.totalServico), Centavos.paraDecimal(diferenca.totalPago));
+            }
+        });
+    }
+
+    /**
+     * Atalho para uma escrita que afeta um único serviço.
+     *
+     * @param removida   Contribuição anterior, ou null.
+     * @param adicionada Contribuição posterior, ou null.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void atualizar(ContribuicaoResumo removida, ContribuicaoResumo adicionada) {
+        atualizar(Collections.singletonList(removida), Collections.singletonList(adicionada));
+    }
+
+    /**
+     * Busca os totais diários de um período a partir do resumo.
+     *
+     * @param startDate Data de início do período.
+     * @param endDate   Data de término do período.
+     * @return Totais por dia de pagamento e status.
+     */
+    @Transactional(readOnly = true)
+    public List<TotalDiario> buscarPeriodo(LocalDate startDate, LocalDate endDate) {
+        return resumoDiarioRepository.buscarPeriodo(startDate, endDate);
+    }
+
+    /**
+     * Descarta o resumo e o recalcula a partir da tabela servico.
+     *
+     * @return Quantidade de linhas do resumo recalculado.
+     */
+    @Transactional
+    public int reconstruir() {
+        resumoDiarioRepository.excluirTodos();
+        return resumoDiarioRepository.recalcular();
+    }
+
+    private record Chave(LocalDate data, StatusServico status) {
+    }
+
+    private static final class Diferenca {
+        private long quantidade;
+        private long totalServico;
+        private long totalPago;
+
+        void somar(int sinal, ContribuicaoResumo contribuicao) {
+            quantidade += sinal;
+            totalServico = Centavos.somar(totalServico, sinal * contribuicao.valorServico());
+            totalPago = Centavos.somar(totalPago, sinal * contribuicao.valorPago());
+        }
+
+        boolean nula() {
+            return quantidade == 0 && totalServico == 0 && totalPago == 0;
+        }
+    }
+}
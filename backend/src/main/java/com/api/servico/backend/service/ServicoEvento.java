@@ -0,0 +1,29 @@
+package com.api.servico.backend.service;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Evento de aplicação publicado a cada serviço gravado, dentro da transação da escrita.
+ * Ouvintes que dependem do commit devem usar @TransactionalEventListener.
+ *
+ * @param tipo           Tipo da alteração.
+ * @param id             ID do serviço.
+ * @param servico        Serviço gravado, presente em CRIADO e ATUALIZADO; nas trocas de status
+ *                       e exclusões a entidade não é carregada.
+ * @param statusAnterior Status antes da escrita; nulo em CRIADO.
+ */
+public record ServicoEvento(TipoEventoServico tipo, Long id, Servico servico, StatusServico statusAnterior) {
+
+    /**
+     * @return Status do serviço após a escrita; nulo na exclusão.
+     */
+    public StatusServico status() {
+        return switch (tipo) {
+            case CRIADO, ATUALIZADO -> servico.getStatus();
+            case CANCELADO -> TransicaoStatus.CANCELAR.statusDestino();
+            case REATIVADO -> TransicaoStatus.REATIVAR.statusDestino();
+            case EXCLUIDO -> null;
+        };
+    }
+}
@@ -3,18 +3,36 @@ package com.api.servico.backend.service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.api.servico.backend.config.CacheConfig;
+import com.api.servico.backend.dto.PaginaCursor;
+import com.api.servico.backend.dto.ResumoServico;
+import com.api.servico.backend.dto.SituacaoServico;
 import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
 import com.api.servico.backend.repository.ServicoRepository;
+import com.api.servico.backend.service.exceptions.ConflitoVersaoException;
 import com.api.servico.backend.service.exceptions.DatabaseException;
 import com.api.servico.backend.service.exceptions.ResourceNotFoundException;
+import com.api.servico.backend.service.exceptions.TransicaoStatusInvalidaException;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -24,17 +42,35 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 public class ServicoService {
 
+    /** Tamanho máximo de página aceito na paginação por cursor. */
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
     @Autowired
     private ServicoRepository servicoRepository;
 
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private AlteradorStatus alteradorStatus;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Busca todos os serviços.
      *
-     * @return Lista de todos os serviços.
+     * @param comDescricao Se a descrição deve ser lida do banco.
+     * @param pageable     Página desejada.
+     * @return Página de resumos de serviços.
      */
-
-    public Page<Servico> buscarTodos(Pageable pageable) {
-        return servicoRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PAGINA_TODOS, condition = "#pageable.pageNumber == 0")
+    public Page<ResumoServico> buscarTodos(boolean comDescricao, Pageable pageable) {
+        return servicoRepository.listarResumos(comDescricao, pageable);
     }
 
     /**
@@ -44,6 +80,7 @@ public class ServicoService {
      * @return Serviço correspondente ao ID fornecido.
      * @throws ResourceNotFoundException Se o serviço não for encontrado.
      */
+    @Cacheable(value = CacheConfig.SERVICOS, key = "#id")
     public Servico buscarPorId(Long id) {
         Optional<Servico> obj = servicoRepository.findById(id);
         return obj.orElseThrow(() -> new ResourceNotFoundException(id));
@@ -52,37 +89,43 @@ public class ServicoService {
     /**
      * Retorna uma lista de serviços dentro do período especificado pela data de pagamento.
      *
-     * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
-     * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
-     * @return Uma lista de objetos Servico que estão dentro do período especificado.
+     * @param comDescricao Se a descrição deve ser lida do banco.
+     * @param startDate    Data de início do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate      Data de término do período no formato ISO_DATE (AAAA-MM-DD).
+     * @return Uma lista de resumos dos serviços que estão dentro do período especificado.
      * @throws IllegalArgumentException Se as datas de início e término não estiverem no formato esperado.
      */
-    public List<Servico> buscarServicosPeriodoDataPagamento(LocalDate startDate, LocalDate endDate) {
-        return servicoRepository.buscarServicosPeriodoDataPagamento(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<ResumoServico> buscarServicosPeriodoDataPagamento(boolean comDescricao, LocalDate startDate, LocalDate endDate) {
+        return servicoRepository.buscarServicosPeriodoDataPagamento(comDescricao, startDate, endDate);
     }
 
     /**
      * Retorna uma lista de serviços dentro do período especificado pela data de início.
      *
-     * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
-     * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
-     * @return Uma lista de objetos Servico que estão dentro do período especificado.
+     * @param comDescricao Se a descrição deve ser lida do banco.
+     * @param startDate    Data de início do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate      Data de término do período no formato ISO_DATE (AAAA-MM-DD).
+     * @return Uma lista de resumos dos serviços que estão dentro do período especificado.
      * @throws IllegalArgumentException Se as datas de início e término não estiverem no formato esperado.
      */
-    public List<Servico> buscarServicosPeriodoDataInicio(LocalDate startDate, LocalDate endDate) {
-        return servicoRepository.buscarServicosPeriodoDataInicio(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<ResumoServico> buscarServicosPeriodoDataInicio(boolean comDescricao, LocalDate startDate, LocalDate endDate) {
+        return servicoRepository.buscarServicosPeriodoDataInicio(comDescricao, startDate, endDate);
     }
 
     /**
      * Retorna uma lista de serviços dentro do período especificado pela data de término.
      *
-     * @param startDate Data de início do período no formato ISO_DATE (AAAA-MM-DD).
-     * @param endDate   Data de término do período no formato ISO_DATE (AAAA-MM-DD).
-     * @return Uma lista de objetos Servico que estão dentro do período especificado.
+     * @param comDescricao Se a descrição deve ser lida do banco.
+     * @param startDate    Data de início do período no formato ISO_DATE (AAAA-MM-DD).
+     * @param endDate      Data de término do período no formato ISO_DATE (AAAA-MM-DD).
+     * @return Uma lista de resumos dos serviços que estão dentro do período especificado.
      * @throws IllegalArgumentException Se as datas de início e término não estiverem no formato esperado.
      */
-    public List<Servico> buscarServicosPeriodoDataTermino(LocalDate startDate, LocalDate endDate) {
-        return servicoRepository.buscarServicosPeriodoDataTermino(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<ResumoServico> buscarServicosPeriodoDataTermino(boolean comDescricao, LocalDate startDate, LocalDate endDate) {
+        return servicoRepository.buscarServicosPeriodoDataTermino(comDescricao, startDate, endDate);
     }
 
 
@@ -91,8 +134,10 @@ public class ServicoService {
      *
      * @return Lista de serviços com pagamento pendente.
      */
-    public Page<Servico> buscarServicosPagamentoPendente(Pageable pageable) {
-        return servicoRepository.buscarServicosPagamentoPendente(pageable);
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PAGINA_PENDENTES, condition = "#pageable.pageNumber == 0")
+    public Page<ResumoServico> buscarServicosPagamentoPendente(boolean comDescricao, Pageable pageable) {
+        return servicoRepository.buscarServicosPagamentoPendente(comDescricao, pageable);
     }
 
     /**
@@ -100,8 +145,10 @@ public class ServicoService {
      *
      * @return Lista de serviços cancelados.
      */
-    public Page<Servico> buscarServicosCancelados(Pageable pageable) {
-        return servicoRepository.buscarServicosCancelados(pageable);
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PAGINA_CANCELADOS, condition = "#pageable.pageNumber == 0")
+    public Page<ResumoServico> buscarServicosCancelados(boolean comDescricao, Pageable pageable) {
+        return servicoRepository.buscarServicosCancelados(comDescricao, pageable);
     }
 
     /**
@@ -109,8 +156,75 @@ public class ServicoService {
      *
      * @return Lista de serviços com pagamento pendente.
      */
-    public Page<Servico> buscarServicosRealizados(Pageable pageable) {
-        return servicoRepository.buscarServicosRealizados(pageable);
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PAGINA_REALIZADOS, condition = "#pageable.pageNumber == 0")
+    public Page<ResumoServico> buscarServicosRealizados(boolean comDescricao, Pageable pageable) {
+        return servicoRepository.buscarServicosRealizados(comDescricao, pageable);
+    }
+
+    /**
+     * Busca todos os serviços com paginação por cursor.
+     *
+     * @param comDescricao Se a descrição deve ser lida do banco.
+     * @param cursor       Cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho      Quantidade de itens da página.
+     * @param incluirTotal Se verdadeiro, executa também a contagem total.
+     * @return Página de resumos de serviços ordenada por ID.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ResumoServico> buscarTodosCursor(boolean comDescricao, String cursor, int tamanho, boolean incluirTotal) {
+        return paginarPorCursor(cursor, tamanho, incluirTotal,
+                (aposId, limite) -> servicoRepository.buscarTodosAposId(comDescricao, aposId, limite), servicoRepository::count);
+    }
+
+    /**
+     * Busca serviços com pagamento pendente com paginação por cursor.
+     *
+     * @see #buscarTodosCursor(boolean, String, int, boolean)
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ResumoServico> buscarServicosPagamentoPendenteCursor(boolean comDescricao, String cursor, int tamanho, boolean incluirTotal) {
+        return paginarPorCursor(cursor, tamanho, incluirTotal,
+                (aposId, limite) -> servicoRepository.buscarServicosPagamentoPendenteAposId(comDescricao, aposId, limite), servicoRepository::contarServicosPagamentoPendente);
+    }
+
+    /**
+     * Busca serviços cancelados com paginação por cursor.
+     *
+     * @see #buscarTodosCursor(boolean, String, int, boolean)
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ResumoServico> buscarServicosCanceladosCursor(boolean comDescricao, String cursor, int tamanho, boolean incluirTotal) {
+        return paginarPorCursor(cursor, tamanho, incluirTotal,
+                (aposId, limite) -> servicoRepository.buscarServicosCanceladosAposId(comDescricao, aposId, limite), () -> servicoRepository.countByStatus(StatusServico.CANCELADO));
+    }
+
+    /**
+     * Busca serviços realizados com paginação por cursor.
+     *
+     * @see #buscarTodosCursor(boolean, String, int, boolean)
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ResumoServico> buscarServicosRealizadosCursor(boolean comDescricao, String cursor, int tamanho, boolean incluirTotal) {
+        return paginarPorCursor(cursor, tamanho, incluirTotal,
+                (aposId, limite) -> servicoRepository.buscarServicosRealizadosAposId(comDescricao, aposId, limite), () -> servicoRepository.countByStatus(StatusServico.REALIZADO));
+    }
+
+    /**
+     * Lê um item além do tamanho pedido para saber se existe próxima página,
+     * sem precisar de contagem. A contagem só é executada quando solicitada.
+     */
+    private PaginaCursor<ResumoServico> paginarPorCursor(String cursor, int tamanho, boolean incluirTotal,
+            BiFunction<Long, Limit, List<ResumoServico>> consulta, LongSupplier contagem) {
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+        List<ResumoServico> itens = consulta.apply(CursorServico.decodificar(cursor), Limit.of(limite + 1));
+        String proximoCursor = null;
+        if (itens.size() > limite) {
+            itens = itens.subList(0, limite);
+            proximoCursor = CursorServico.codificar(itens.get(limite - 1).id());
+        }
+        Long total = incluirTotal ? contagem.getAsLong() : null;
+        return new PaginaCursor<>(itens, proximoCursor, total);
     }
 
     /**
@@ -119,14 +233,16 @@ public class ServicoService {
      * @param servico Serviço a ser inserido.
      * @return Serviço inserido.
      */
+    @Transactional
+    @CacheEvict(value = { CacheConfig.PAGINA_TODOS, CacheConfig.PAGINA_PENDENTES,
+            CacheConfig.PAGINA_CANCELADOS, CacheConfig.PAGINA_REALIZADOS }, allEntries = true)
     public Servico inserir(Servico servico) {
-        if ((servico.getValorPago() == null || servico.getValorPago() == 0) && servico.getDataPagamento() == null) {
-            servico.setStatus("pendente");
-        } else if(servico.getValorPago() > 0 &&  servico.getDataPagamento() == null){
-        	servico.setDataPagamento(LocalDate.now());
-            servico.setStatus("realizado");
-        }
-        return servicoRepository.save(servico);
+        RegrasServico.aplicarInsercao(servico);
+        MaquinaStatus.validar(null, null, servico.getStatus());
+        Servico salvo = servicoRepository.save(servico);
+        resumoDiarioService.atualizar(null, ContribuicaoResumo.de(salvo));
+        eventPublisher.publishEvent(new ServicoEvento(TipoEventoServico.CRIADO, salvo.getId(), salvo, null));
+        return salvo;
     }
 
     /**
@@ -134,54 +250,101 @@ public class ServicoService {
      *
      * @param obj Serviço com as alterações a serem aplicadas.
      * @return Serviço alterado.
+     * @throws ResourceNotFoundException Se o serviço não for encontrado.
+     * @throws ConflitoVersaoException   Se a versão enviada não for a gravada, ou se outra transação
+     *                                   alterar o serviço durante a gravação.
+     * @throws TransicaoStatusInvalidaException Se o serviço não está pendente, ou o status resultante não é permitido.
      */
+    @Transactional
+    @Caching(put = @CachePut(value = CacheConfig.SERVICOS, key = "#result.id"), evict = {
+            @CacheEvict(value = { CacheConfig.PAGINA_TODOS, CacheConfig.PAGINA_PENDENTES,
+                    CacheConfig.PAGINA_CANCELADOS, CacheConfig.PAGINA_REALIZADOS }, allEntries = true)
+    })
     public Servico alterar(Servico obj) {
-    	 Servico servicoExistente = servicoRepository.findById(obj.getId()).orElse(null);
-    	 if (servicoExistente != null) {
-	        if (obj.getValorPago() != null && (servicoExistente.getValorPago() == null || !obj.getValorPago().equals(servicoExistente.getValorPago()))) {
-	            servicoExistente.setValorPago(obj.getValorPago());
-	        }
-
-	        // Verifica se o valor pago é maior que zero e se o status não é "realizado" antes de atualizar
-	        if (servicoExistente.getValorPago() != null && servicoExistente.getValorPago() > 0 && !"realizado".equals(servicoExistente.getStatus()) || servicoExistente.getStatus() == null) {
-	            obj.setStatus("realizado");
-	            obj.setValorPago(servicoExistente.getValorPago());
-	            obj.setDataPagamento(LocalDate.now());
-	        }
-	        
-	        if(obj.getValorPago() == obj.getValorServico()) {
-	        	obj.setDataPagamento(LocalDate.now());
-	        	obj.setStatus("realizado");	        	
-	        }
-	        
-	        // Atualiza o objeto existente no banco de dados
-	        return servicoRepository.save(obj);  
-    	 }
-         return servicoRepository.save(obj);
+    	Servico servicoExistente = servicoRepository.findById(obj.getId())
+    			.orElseThrow(() -> new ResourceNotFoundException(obj.getId()));
+    	ContribuicaoResumo anterior = ContribuicaoResumo.de(servicoExistente);
+    	StatusServico statusAnterior = servicoExistente.getStatus();
+    	if (obj.getVersao() == null) {
+    		obj.setVersao(servicoExistente.getVersao()); // Clientes que ainda não enviam a versão
+    	} else if (!obj.getVersao().equals(servicoExistente.getVersao())) {
+    		throw conflito(obj.getId(), new ConflitoVersaoException(obj.getId(), obj.getVersao(), servicoExistente.getVersao()));
+    	}
+
+        RegrasServico.aplicarAlteracao(obj, servicoExistente);
+        MaquinaStatus.validarAlteracao(obj.getId(), statusAnterior, obj.getStatus());
+
+        // Atualiza o objeto existente no banco de dados; o UPDATE filtra pela versão lida acima
+        Servico salvo;
+        try {
+            salvo = servicoRepository.saveAndFlush(obj);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw conflito(obj.getId(), new ConflitoVersaoException(obj.getId())); // Alterado por outra transação depois da leitura
+        }
+        resumoDiarioService.atualizar(anterior, ContribuicaoResumo.de(salvo));
+        eventPublisher.publishEvent(new ServicoEvento(TipoEventoServico.ATUALIZADO, salvo.getId(), salvo, statusAnterior));
+        return salvo;
     }
 
     /**
      * Cancela um serviço pelo ID.
      *
-     * @param id ID do serviço a ser cancelado.
+     * @param id             ID do serviço a ser cancelado.
+     * @param versaoEsperada Versão que o cliente conhece, ou null para não verificar.
+     * @throws ResourceNotFoundException Se o serviço não for encontrado.
+     * @throws ConflitoVersaoException   Se o serviço foi alterado desde a versão informada.
+     * @throws TransicaoStatusInvalidaException Se o serviço já foi realizado.
      */
-    public void cancelarServico(Long id) {
-    	Servico servico = servicoRepository.findById(id).get(); // Recupero os dados do banco
-    	servico.setStatus("cancelado");							// Alteramos o Status
-    	servicoRepository.save(servico);						// Atualizamos
+    @Transactional
+    public void cancelarServico(Long id, Long versaoEsperada) {
+        alterarStatus(id, versaoEsperada, TransicaoStatus.CANCELAR);
     }
     
     /**
-     * Cancela um serviço pelo ID.
+     * Reativa um serviço pelo ID, voltando-o para pendente.
      *
-     * @param id ID do serviço a ser alterado para pendente.
+     * @param id             ID do serviço a ser alterado para pendente.
+     * @param versaoEsperada Versão que o cliente conhece, ou null para não verificar.
+     * @throws ResourceNotFoundException Se o serviço não for encontrado.
+     * @throws ConflitoVersaoException   Se o serviço foi alterado desde a versão informada.
+     */
+    @Transactional
+    public void reativarServico(Long id, Long versaoEsperada) {
+        alterarStatus(id, versaoEsperada, TransicaoStatus.REATIVAR);
+    }
+
+    /**
+     * Troca o status sem carregar e regravar a linha inteira. Com a versão informada, lê a situação
+     * sem bloqueio e a troca por um UPDATE condicionado a essa versão: nenhum bloqueio fica retido
+     * entre as duas instruções, e uma escrita concorrente resulta em conflito. Sem ela, a situação
+     * é lida com um SELECT bloqueante antes do UPDATE.
+     */
+    private void alterarStatus(Long id, Long versaoEsperada, TransicaoStatus transicao) {
+        if (versaoEsperada == null) {
+            SituacaoServico situacao = alteradorStatus.bloquear(List.of(id)).get(id);
+            if (situacao == null) {
+                throw new ResourceNotFoundException(id);
+            }
+            alteradorStatus.aplicar(transicao, List.of(situacao));
+            return;
+        }
+        SituacaoServico situacao = servicoRepository.buscarSituacao(id).orElseThrow(() -> new ResourceNotFoundException(id));
+        if (!versaoEsperada.equals(situacao.versao())) {
+            throw conflito(id, new ConflitoVersaoException(id, versaoEsperada, situacao.versao()));
+        }
+        if (!alteradorStatus.aplicarSeInalterada(transicao, situacao)) {
+            throw conflito(id, new ConflitoVersaoException(id)); // Alterado por outra transação depois da leitura
+        }
+    }
+
+    /**
+     * Remove o serviço do cache antes de devolver o conflito: o cliente pode ter recebido a versão
+     * antiga justamente de lá. A remoção é imediata, pois a transação será desfeita e uma evicção
+     * adiada para o commit nunca aconteceria.
      */
-    public void reativarServico(Long id) {
-    	Servico servico = servicoRepository.findById(id).get(); // Recupero os dados do banco
-    	servico.setStatus("pendente");							// Alteramos o Status
-    	servico.setDataPagamento(null);
-    	servico.setValorPago(0.0);
-    	servicoRepository.save(servico);						// Atualizamos
+    private ConflitoVersaoException conflito(Long id, ConflitoVersaoException e) {
+        cacheManager.getCache(CacheConfig.SERVICOS).evictIfPresent(id);
+        return e;
     }
 
     /**
@@ -191,9 +354,20 @@ public class ServicoService {
      * @throws ResourceNotFoundException Se o serviço não for encontrado.
      * @throws DatabaseException         Se ocorrer um erro de integridade no banco de dados.
      */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.SERVICOS, key = "#id"),
+            @CacheEvict(value = { CacheConfig.PAGINA_TODOS, CacheConfig.PAGINA_PENDENTES,
+                    CacheConfig.PAGINA_CANCELADOS, CacheConfig.PAGINA_REALIZADOS }, allEntries = true)
+    })
     public void excluir(Long id) {
         try {
-            servicoRepository.deleteById(id);
+            Servico servico = servicoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+            ContribuicaoResumo anterior = ContribuicaoResumo.de(servico);
+            servicoRepository.delete(servico);
+            servicoRepository.flush(); // Antecipa a violação de integridade para dentro do try
+            resumoDiarioService.atualizar(anterior, null);
+            eventPublisher.publishEvent(new ServicoEvento(TipoEventoServico.EXCLUIDO, id, null, servico.getStatus()));
         } catch (EmptyResultDataAccessException e) {
             throw new ResourceNotFoundException(id);
         } catch (DataIntegrityViolationException e) {
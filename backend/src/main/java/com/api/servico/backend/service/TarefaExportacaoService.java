@@ -0,0 +1,278 @@
+package com.api.servico.backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.api.servico.backend.dto.TarefaExportacao;
+import com.api.servico.backend.service.exceptions.LimiteTarefasException;
+import com.api.servico.backend.service.exceptions.ResourceNotFoundException;
+import com.api.servico.backend.service.exceptions.TarefaNaoConcluidaException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Exportações executadas em segundo plano, com o resultado gravado em arquivo local.
+ * <p>
+ * A requisição só registra a tarefa e volta; a leitura do banco e a escrita do arquivo rodam
+ * num pool próprio de tamanho fixo e fila limitada, sem ocupar threads do Tomcat nem depender
+ * do timeout das requisições assíncronas. O arquivo é escrito por um FileChannel com buffer e
+ * só recebe o nome final depois de completo. O cancelamento interrompe a thread da tarefa, e a
+ * escrita seguinte no canal (interrompível) aborta a exportação.
+ * <p>
+ * As tarefas ficam em memória e, junto com os arquivos, são descartadas servico.tarefas.expiracao
+ * depois de terminarem. Arquivos de execuções anteriores são apagados na inicialização.
+ */
+@Service
+public class TarefaExportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TarefaExportacaoService.class);
+
+    private static final String PREFIXO_ARQUIVO = "exportacao-";
+    private static final String SUFIXO_PARCIAL = ".parcial";
+
+    /** Tamanho do buffer entre o exportador e o arquivo. */
+    static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final Map<String, Tarefa> tarefas = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private Path diretorio;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Value("${servico.tarefas.diretorio:exportacoes}")
+    private String diretorioConfigurado;
+
+    @Value("${servico.tarefas.threads:2}")
+    private int threads;
+
+    @Value("${servico.tarefas.fila:20}")
+    private int tamanhoFila;
+
+    @Value("${servico.tarefas.expiracao:24h}")
+    private Duration expiracao;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        diretorio = Path.of(diretorioConfigurado).toAbsolutePath();
+        Files.createDirectories(diretorio);
+        // As tarefas da execução anterior não existem mais: seus arquivos não seriam alcançados
+        try (DirectoryStream<Path> antigos = Files.newDirectoryStream(diretorio, PREFIXO_ARQUIVO + "*")) {
+            for (Path antigo : antigos) {
+                Files.deleteIfExists(antigo);
+            }
+        }
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "exportacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registra uma exportação e a coloca na fila do pool.
+     *
+     * @param campo     Campo de data usado no filtro.
+     * @param startDate Data de início do período.
+     * @param endDate   Data de término do período.
+     * @param formato   Formato do arquivo.
+     * @return Situação da tarefa criada.
+     * @throws LimiteTarefasException Se o pool e a fila estiverem cheios.
+     */
+    public TarefaExportacao submeter(CampoData campo, LocalDate startDate, LocalDate endDate, FormatoExportacao formato) {
+        Tarefa tarefa = new Tarefa(UUID.randomUUID().toString(), campo, startDate, endDate, formato);
+        tarefas.put(tarefa.id, tarefa);
+        try {
+            executor.execute(tarefa.futuro);
+        } catch (RejectedExecutionException e) {
+            tarefas.remove(tarefa.id);
+            throw new LimiteTarefasException(threads + tamanhoFila);
+        }
+        return tarefa.situacao();
+    }
+
+    /**
+     * @param id ID da tarefa.
+     * @return Situação da tarefa.
+     * @throws ResourceNotFoundException Se a tarefa não existir ou já tiver expirado.
+     */
+    public TarefaExportacao buscar(String id) {
+        return tarefa(id).situacao();
+    }
+
+    /**
+     * @param id ID da tarefa.
+     * @return Arquivo com o resultado da tarefa.
+     * @throws ResourceNotFoundException   Se a tarefa não existir ou já tiver expirado.
+     * @throws TarefaNaoConcluidaException Se a tarefa ainda não concluiu, foi cancelada ou falhou.
+     */
+    public Path arquivo(String id) {
+        Tarefa tarefa = tarefa(id);
+        EstadoTarefa estado = tarefa.estado.get();
+        if (estado != EstadoTarefa.CONCLUIDA) {
+            throw new TarefaNaoConcluidaException(id, estado);
+        }
+        return tarefa.arquivo;
+    }
+
+    /**
+     * Cancela uma tarefa em andamento, que continua consultável como CANCELADA até expirar.
+     * Uma tarefa já terminada é descartada com o seu arquivo.
+     *
+     * @param id ID da tarefa.
+     * @throws ResourceNotFoundException Se a tarefa não existir ou já tiver expirado.
+     */
+    public void cancelar(String id) {
+        Tarefa tarefa = tarefa(id);
+        if (tarefa.terminar(EstadoTarefa.CANCELADA, null)) {
+            tarefa.futuro.cancel(true);
+            return;
+        }
+        descartar(tarefa);
+    }
+
+    /**
+     * Descarta as tarefas terminadas há mais de servico.tarefas.expiracao, com os seus arquivos.
+     */
+    @Scheduled(fixedDelayString = "${servico.tarefas.limpeza:PT10M}")
+    public void removerExpiradas() {
+        Instant limite = Instant.now().minus(expiracao);
+        tarefas.values().forEach(tarefa -> {
+            Instant concluidaEm = tarefa.concluidaEm;
+            if (concluidaEm != null && concluidaEm.isBefore(limite)) {
+                descartar(tarefa);
+            }
+        });
+    }
+
+    private Tarefa tarefa(String id) {
+        Tarefa tarefa = tarefas.get(id);
+        if (tarefa == null) {
+            throw new ResourceNotFoundException(id);
+        }
+        return tarefa;
+    }
+
+    private void descartar(Tarefa tarefa) {
+        if (tarefas.remove(tarefa.id, tarefa)) {
+            apagar(tarefa.arquivo);
+        }
+    }
+
+    private void executar(Tarefa tarefa) {
+        if (!tarefa.estado.compareAndSet(EstadoTarefa.AGUARDANDO, EstadoTarefa.EXECUTANDO)) {
+            return; // Cancelada enquanto aguardava na fila
+        }
+        Path parcial = tarefa.arquivo.resolveSibling(tarefa.arquivo.getFileName() + SUFIXO_PARCIAL);
+        try {
+            long linhas;
+            try (FileChannel canal = FileChannel.open(parcial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    OutputStream out = new BufferedOutputStream(Channels.newOutputStream(canal), TAMANHO_BUFFER)) {
+                linhas = exportacaoService.exportar(tarefa.campo, tarefa.startDate, tarefa.endDate, tarefa.formato, out);
+            }
+            Files.move(parcial, tarefa.arquivo, StandardCopyOption.ATOMIC_MOVE);
+            tarefa.linhas = linhas;
+            if (!tarefa.terminar(EstadoTarefa.CONCLUIDA, null)) {
+                apagar(tarefa.arquivo); // Cancelada depois da última escrita
+            }
+        } catch (IOException | RuntimeException e) {
+            apagar(parcial);
+            if (tarefa.terminar(EstadoTarefa.FALHOU, e.getMessage())) {
+                log.warn("Falha na exportacao {}", tarefa.id, e);
+            }
+        }
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Nao foi possivel apagar {}", arquivo, e);
+        }
+    }
+
+    private final class Tarefa {
+
+        final String id;
+        final CampoData campo;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final FormatoExportacao formato;
+        final Path arquivo;
+        final Instant criadaEm = Instant.now();
+        final AtomicReference<EstadoTarefa> estado = new AtomicReference<>(EstadoTarefa.AGUARDANDO);
+        final FutureTask<Void> futuro = new FutureTask<>(() -> executar(this), null);
+        volatile Long linhas;
+        volatile String erro;
+        volatile Instant concluidaEm;
+
+        Tarefa(String id, CampoData campo, LocalDate startDate, LocalDate endDate, FormatoExportacao formato) {
+            this.id = id;
+            this.campo = campo;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.formato = formato;
+            this.arquivo = diretorio.resolve(PREFIXO_ARQUIVO + id + "." + formato.getExtensao());
+        }
+
+        /**
+         * Leva a tarefa a um estado final, se ela ainda não estiver em um.
+         *
+         * @return false se outro estado final chegou antes.
+         */
+        boolean terminar(EstadoTarefa estadoFinal, String mensagem) {
+            EstadoTarefa atual;
+            do {
+                atual = estado.get();
+                if (atual.isFinal()) {
+                    return false;
+                }
+            } while (!estado.compareAndSet(atual, estadoFinal));
+            erro = mensagem;
+            concluidaEm = Instant.now();
+            return true;
+        }
+
+        TarefaExportacao situacao() {
+            return new TarefaExportacao(id, estado.get(), campo, startDate, endDate, formato, linhas, criadaEm,
+                    concluidaEm, erro);
+        }
+    }
+}
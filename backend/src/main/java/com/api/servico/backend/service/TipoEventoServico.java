@@ -0,0 +1,12 @@
+package com.api.servico.backend.service;
+
+/**
+ * Tipos de alteração publicados por ServicoService e LoteService.
+ */
+public enum TipoEventoServico {
+    CRIADO,
+    ATUALIZADO,
+    CANCELADO,
+    REATIVADO,
+    EXCLUIDO
+}
@@ -0,0 +1,56 @@
+package com.api.servico.backend.service;
+
+import java.util.Set;
+
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.entity.StatusServico;
+
+/**
+ * Trocas de status executadas diretamente no banco, sem carregar a entidade.
+ */
+enum TransicaoStatus {
+
+    CANCELAR(StatusServico.CANCELADO, TipoEventoServico.CANCELADO) {
+        @Override
+        ContribuicaoResumo contribuicaoPosterior(SituacaoServico situacao) {
+            return ContribuicaoResumo.de(situacao, statusDestino());
+        }
+    },
+    /** Volta para pendente, descartando o pagamento registrado. */
+    REATIVAR(StatusServico.PENDENTE, TipoEventoServico.REATIVADO) {
+        @Override
+        ContribuicaoResumo contribuicaoPosterior(SituacaoServico situacao) {
+            return null; // Sem data de pagamento o serviço sai do resumo diário
+        }
+    };
+
+    private final StatusServico statusDestino;
+    private final TipoEventoServico evento;
+    private final Set<StatusServico> origens;
+
+    TransicaoStatus(StatusServico statusDestino, TipoEventoServico evento) {
+        this.statusDestino = statusDestino;
+        this.evento = evento;
+        this.origens = MaquinaStatus.origens(statusDestino);
+    }
+
+    StatusServico statusDestino() {
+        return statusDestino;
+    }
+
+    TipoEventoServico evento() {
+        return evento;
+    }
+
+    /**
+     * @return Status a partir dos quais a troca é permitida.
+     */
+    Set<StatusServico> origens() {
+        return origens;
+    }
+
+    /**
+     * @return Contribuição do serviço ao resumo diário após a troca de status.
+     */
+    abstract ContribuicaoResumo contribuicaoPosterior(SituacaoServico situacao);
+}
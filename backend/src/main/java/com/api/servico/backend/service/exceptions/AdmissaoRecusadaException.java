@@ -0,0 +1,19 @@
+package com.api.servico.backend.service.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando não há conexão disponível dentro da espera permitida.
+ * Estende SQLException para atravessar o Hibernate como causa da falha de conexão.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AdmissaoRecusadaException extends SQLTransientConnectionException {
+    private static final long serialVersionUID = 1L;
+
+    public AdmissaoRecusadaException(String motivo) {
+        super("Database connection not available: " + motivo);
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ChaveIdempotenciaReutilizadaException(String chave) {
+        super("Idempotency-Key " + chave + " was already used with a different request");
+    }
+}
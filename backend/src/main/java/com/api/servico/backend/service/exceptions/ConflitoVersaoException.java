@@ -0,0 +1,17 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoVersaoException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ConflitoVersaoException(Object id, Long versaoEsperada, Long versaoAtual) {
+        super("Version conflict. Id " + id + " expected version " + versaoEsperada + " but found " + versaoAtual);
+    }
+
+    public ConflitoVersaoException(Object id) {
+        super("Version conflict. Id " + id + " was changed by another transaction");
+    }
+}
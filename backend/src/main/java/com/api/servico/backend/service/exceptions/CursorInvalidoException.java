@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CursorInvalidoException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CursorInvalidoException(String cursor) {
+        super("Invalid cursor " + cursor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LimiteAssinantesException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LimiteAssinantesException(int limite) {
+        super("Change feed subscriber limit of " + limite + " reached");
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class LimiteRequisicoesException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LimiteRequisicoesException(String motivo) {
+        super("Request limit exceeded: " + motivo);
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RequisicaoEmAndamentoException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RequisicaoEmAndamentoException(String chave) {
+        super("Request with Idempotency-Key " + chave + " is still in progress");
+    }
+}
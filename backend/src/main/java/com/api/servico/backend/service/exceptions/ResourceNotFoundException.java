@@ -1,9 +1,13 @@
 package com.api.servico.backend.service.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     private static final long serialVersionUID = 1L;
 
     public ResourceNotFoundException(Object id) {
         super("Resource not found. Id " + id);
     }
-}
\ No newline at end of file
+}
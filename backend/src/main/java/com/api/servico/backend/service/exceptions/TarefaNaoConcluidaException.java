@@ -0,0 +1,13 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TarefaNaoConcluidaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TarefaNaoConcluidaException(Object id, Object estado) {
+        super("Export job " + id + " has no result file. Current state: " + estado);
+    }
+}
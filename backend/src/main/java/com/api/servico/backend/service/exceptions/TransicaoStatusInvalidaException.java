@@ -0,0 +1,17 @@
+package com.api.servico.backend.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransicaoStatusInvalidaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TransicaoStatusInvalidaException(Object id, Object statusAtual, Object statusDestino) {
+        super("Invalid status transition. Id " + id + " cannot go from " + statusAtual + " to " + statusDestino);
+    }
+
+    public TransicaoStatusInvalidaException(Object id, Object statusAtual) {
+        super("Invalid status transition. Id " + id + " with status " + statusAtual + " cannot be changed");
+    }
+}
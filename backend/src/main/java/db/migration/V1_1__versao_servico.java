@@ -0,0 +1,54 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Garante a coluna servico.versao (controle de concorrência otimista) como BIGINT NOT NULL DEFAULT 0.
+ * <p>
+ * A V1 cria a tabela já com a coluna, mas usa IF NOT EXISTS: num banco criado pelo ddl-auto=update
+ * antes da adoção das migrations, a tabela existe sem versao e a V1 não a altera. Num banco que
+ * passou pelo ddl-auto=update depois da introdução da versão, a coluna aceita nulos e as linhas
+ * antigas têm NULL, que versao = versao + 1 mantém nulo. O MySQL não tem ADD COLUMN IF NOT EXISTS:
+ * a coluna é conferida pelos metadados JDBC, e a tabela só é alterada quando é preciso.
+ */
+public class V1_1__versao_servico extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        Coluna coluna = coluna(conexao);
+        if (coluna != null && !coluna.aceitaNulo() && coluna.padrao() != null) {
+            return;
+        }
+        try (Statement comando = conexao.createStatement()) {
+            if (coluna == null) {
+                comando.executeUpdate("ALTER TABLE servico ADD COLUMN versao BIGINT");
+            }
+            comando.executeUpdate("UPDATE servico SET versao = 0 WHERE versao IS NULL");
+            comando.executeUpdate("ALTER TABLE servico MODIFY versao BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * @return A coluna versao de servico, ou null se ela não existir.
+     */
+    private static Coluna coluna(Connection conexao) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        try (ResultSet colunas = metadados.getColumns(conexao.getCatalog(), conexao.getSchema(), "servico", "versao")) {
+            if (!colunas.next()) {
+                return null;
+            }
+            return new Coluna(colunas.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls, colunas.getString("COLUMN_DEF"));
+        }
+    }
+
+    private record Coluna(boolean aceitaNulo, String padrao) {
+    }
+}
@@ -0,0 +1,33 @@
+-- Esquema existente até a adoção das migrations (antes criado por ddl-auto=update).
+-- IF NOT EXISTS permite aplicar esta versão também em bancos já criados pelo Hibernate.
+
+CREATE TABLE IF NOT EXISTS servico (
+    id                BIGINT       NOT NULL,
+    nome_cliente      VARCHAR(255),
+    data_inicio       DATE,
+    data_termino      DATE,
+    descricao_servico VARCHAR(255),
+    valor_servico     DOUBLE,
+    valor_pago        DOUBLE,
+    data_pagamento    DATE,
+    status            VARCHAR(255),
+    versao            BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Sequência de IDs de servico (emulada por tabela no MySQL)
+CREATE TABLE IF NOT EXISTS servico_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO servico_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM servico_seq);
+
+CREATE TABLE IF NOT EXISTS resumo_diario (
+    data          DATE         NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    quantidade    BIGINT       NOT NULL,
+    total_servico DOUBLE       NOT NULL,
+    total_pago    DOUBLE       NOT NULL,
+    PRIMARY KEY (data, status)
+) ENGINE = InnoDB;
@@ -0,0 +1,32 @@
+-- Índices dos filtros de ServicoRepository.
+-- (status, data_inicio) atende as listagens por status e, por skip scan, o filtro por data_inicio.
+CREATE INDEX idx_servico_status_data_inicio ON servico (status, data_inicio);
+CREATE INDEX idx_servico_data_pagamento ON servico (data_pagamento);
+CREATE INDEX idx_servico_data_termino ON servico (data_termino);
+
+-- A listagem de pagamento pendente passa a filtrar apenas por status = 'pendente'.
+-- Normaliza as linhas antigas que a consulta anterior considerava pendentes ou que ficaram sem status.
+UPDATE servico
+   SET status = 'pendente'
+ WHERE (status IS NULL OR status <> 'cancelado')
+   AND (valor_pago IS NULL OR valor_pago = 0);
+
+UPDATE servico
+   SET status = 'realizado'
+ WHERE status IS NULL
+   AND valor_pago > 0;
+
+-- A troca de status acima muda a composição do resumo diário
+DELETE FROM resumo_diario;
+
+INSERT INTO resumo_diario (data, status, quantidade, total_servico, total_pago)
+SELECT s.data_pagamento, s.status, COUNT(*), COALESCE(SUM(s.valor_servico), 0), COALESCE(SUM(s.valor_pago), 0)
+  FROM servico s
+ WHERE s.data_pagamento IS NOT NULL
+   AND s.status IS NOT NULL
+ GROUP BY s.data_pagamento, s.status;
+
+-- Bancos com IDs gerados por AUTO_INCREMENT: a sequência (alocação em blocos de 50) precisa começar após o maior ID
+UPDATE servico_seq
+   SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM servico)
+ WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 51 FROM servico);
@@ -0,0 +1,16 @@
+-- Valores monetários passam de DOUBLE para DECIMAL com duas casas (centavos exatos).
+ALTER TABLE servico MODIFY valor_servico DECIMAL(15, 2);
+ALTER TABLE servico MODIFY valor_pago DECIMAL(15, 2);
+
+ALTER TABLE resumo_diario MODIFY total_servico DECIMAL(17, 2) NOT NULL;
+ALTER TABLE resumo_diario MODIFY total_pago DECIMAL(17, 2) NOT NULL;
+
+-- Os totais acumulados em DOUBLE podem ter desvios de arredondamento: recalcula a partir dos valores convertidos
+DELETE FROM resumo_diario;
+
+INSERT INTO resumo_diario (data, status, quantidade, total_servico, total_pago)
+SELECT s.data_pagamento, s.status, COUNT(*), COALESCE(SUM(s.valor_servico), 0), COALESCE(SUM(s.valor_pago), 0)
+  FROM servico s
+ WHERE s.data_pagamento IS NOT NULL
+   AND s.status IS NOT NULL
+ GROUP BY s.data_pagamento, s.status;
@@ -0,0 +1,11 @@
+-- Caixa de saída (outbox) dos eventos de serviço, gravada na transação de cada alteração
+-- e esvaziada pelo despacho em segundo plano.
+CREATE TABLE evento_saida (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    tipo            VARCHAR(20)  NOT NULL,
+    servico_id      BIGINT       NOT NULL,
+    status_anterior VARCHAR(255),
+    status          VARCHAR(255),
+    ocorrido_em     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
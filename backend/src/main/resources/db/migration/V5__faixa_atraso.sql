@@ -0,0 +1,6 @@
+-- Faixa de atraso dos serviços pendentes (EM_DIA, ATE_30_DIAS, ...), mantida pelas escritas
+-- e reclassificada diariamente. As linhas existentes ficam nulas até a primeira classificação,
+-- feita na inicialização da aplicação.
+ALTER TABLE servico ADD COLUMN faixa_atraso VARCHAR(20);
+
+CREATE INDEX idx_servico_faixa_atraso ON servico (faixa_atraso, data_termino);
@@ -0,0 +1,21 @@
+-- Status passa de texto a código numérico (StatusServico): 1 pendente, 2 realizado, 3 cancelado.
+-- Linhas sem status ou com valores desconhecidos viram pendentes, como já eram tratadas.
+UPDATE servico
+   SET status = CASE status WHEN 'realizado' THEN '2' WHEN 'cancelado' THEN '3' ELSE '1' END;
+
+ALTER TABLE servico MODIFY status TINYINT NOT NULL;
+
+-- Índice estreito: atende as contagens por status só pelo índice e, com o ID anexado pelo InnoDB,
+-- as listagens por status percorridas por ID
+CREATE INDEX idx_servico_status ON servico (status);
+
+-- O resumo diário é chaveado pelo status: recalcula com os códigos
+DELETE FROM resumo_diario;
+
+ALTER TABLE resumo_diario MODIFY status TINYINT NOT NULL;
+
+INSERT INTO resumo_diario (data, status, quantidade, total_servico, total_pago)
+SELECT s.data_pagamento, s.status, COUNT(*), COALESCE(SUM(s.valor_servico), 0), COALESCE(SUM(s.valor_pago), 0)
+  FROM servico s
+ WHERE s.data_pagamento IS NOT NULL
+ GROUP BY s.data_pagamento, s.status;
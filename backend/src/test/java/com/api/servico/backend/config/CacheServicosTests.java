@@ -0,0 +1,69 @@
+package com.api.servico.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cada teste simula uma leitura que não encontrou a entrada e, enquanto consulta o banco, é
+ * ultrapassada por uma escrita de outra thread; só então a leitura grava o que leu.
+ */
+class CacheServicosTests {
+
+    private final CacheServicos cache = new CacheServicos(CacheConfig.SERVICOS, Caffeine.newBuilder().build(), false);
+
+    @Test
+    void leituraSemEscritaConcorrenteEGravada() {
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "v0");
+
+        assertThat(cache.get(1L).get()).isEqualTo("v0");
+    }
+
+    @Test
+    void leituraAnteriorAEviccaoNaoEGravada() {
+        assertThat(cache.get(1L)).isNull();
+        emOutraThread(() -> cache.evict(1L));
+        cache.put(1L, "v0");
+
+        assertThat(cache.get(1L)).isNull();
+
+        cache.put(1L, "v1"); // A leitura seguinte já começa depois da evicção
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+    }
+
+    @Test
+    void leituraAnteriorAGravacaoDaEscritaNaoASobrescreve() {
+        assertThat(cache.get(1L)).isNull();
+        emOutraThread(() -> cache.put(1L, "v1"));
+        cache.put(1L, "v0");
+
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+    }
+
+    @Test
+    void leituraAnteriorALimpezaNaoEGravada() {
+        assertThat(cache.get(1L)).isNull();
+        emOutraThread(cache::clear);
+        cache.put(1L, "v0");
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void eviccaoDeOutraChaveNaoDescartaALeitura() {
+        assertThat(cache.get(1L)).isNull();
+        emOutraThread(() -> cache.evict(2L));
+        cache.put(1L, "v0");
+
+        assertThat(cache.get(1L).get()).isEqualTo("v0");
+    }
+
+    private static void emOutraThread(Runnable escrita) {
+        CompletableFuture.runAsync(escrita).join();
+    }
+}
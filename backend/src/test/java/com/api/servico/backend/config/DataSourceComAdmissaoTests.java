@@ -0,0 +1,122 @@
+package com.api.servico.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.api.servico.backend.service.exceptions.AdmissaoRecusadaException;
+
+class DataSourceComAdmissaoTests {
+
+    private static final DataSource POOL = new DriverManagerDataSource("jdbc:h2:mem:admissao;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void admiteAteOLimiteELiberaAPermissaoAoFechar() throws Exception {
+        DataSourceComAdmissao admissao = new DataSourceComAdmissao(POOL, 2, Duration.ofMillis(50), 10);
+
+        Connection primeira = admissao.getConnection();
+        Connection segunda = admissao.getConnection();
+        assertThatThrownBy(admissao::getConnection)
+                .isInstanceOf(AdmissaoRecusadaException.class)
+                .hasMessageContaining("timed out waiting");
+        assertThat(admissao.getRecusadas()).isEqualTo(1);
+        assertThat(admissao.getAguardando()).isZero();
+
+        primeira.close();
+        primeira.close(); // Fechar de novo não devolve outra permissão
+
+        try (Connection terceira = admissao.getConnection()) {
+            assertThat(terceira.isValid(1)).isTrue();
+            assertThatThrownBy(admissao::getConnection).isInstanceOf(AdmissaoRecusadaException.class);
+        }
+        segunda.close();
+    }
+
+    @Test
+    void filaCheiaRecusaSemEsperar() throws Exception {
+        DataSourceComAdmissao admissao = new DataSourceComAdmissao(POOL, 1, Duration.ofSeconds(30), 1);
+        Connection ocupada = admissao.getConnection();
+        CompletableFuture<Connection> naFila = CompletableFuture.supplyAsync(() -> obter(admissao));
+        aguardarFila(admissao, 1);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(admissao::getConnection)
+                .isInstanceOf(AdmissaoRecusadaException.class)
+                .hasMessageContaining("queue full");
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+
+        ocupada.close();
+        naFila.get(5, TimeUnit.SECONDS).close();
+    }
+
+    /**
+     * A permissão liberada vai para quem já esperava na fila; um pedido que chega nesse
+     * instante entra na fila atrás dele, em vez de tomá-la no caminho rápido.
+     */
+    @Test
+    void pedidoNovoNaoFuraAFila() throws Exception {
+        DataSourceComAdmissao admissao = new DataSourceComAdmissao(POOL, 1, Duration.ofSeconds(30), 10);
+        Connection ocupada = admissao.getConnection();
+        CountDownLatch obtida = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> naFila = CompletableFuture.runAsync(() -> {
+            try (Connection conexao = obter(admissao)) {
+                obtida.countDown();
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (SQLException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        aguardarFila(admissao, 1);
+
+        ocupada.close();
+        CompletableFuture<Connection> recemChegado = CompletableFuture.supplyAsync(() -> obter(admissao));
+
+        assertThat(obtida.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(recemChegado).isNotDone();
+        liberar.countDown();
+        naFila.get(5, TimeUnit.SECONDS);
+        recemChegado.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void falhaDoPoolDevolveAPermissao() {
+        DataSource poolForaDoAr = new DriverManagerDataSource("jdbc:h2:mem:admissao;OPCAO_INEXISTENTE=1", "sa", "");
+        DataSourceComAdmissao admissao = new DataSourceComAdmissao(poolForaDoAr, 1, Duration.ofMillis(50), 10);
+
+        for (int i = 0; i < 3; i++) {
+            // Se a primeira falha retivesse a permissão, as seguintes seriam recusadas pela admissão
+            assertThatThrownBy(admissao::getConnection)
+                    .isInstanceOf(SQLException.class)
+                    .isNotInstanceOf(AdmissaoRecusadaException.class);
+        }
+        assertThat(admissao.getRecusadas()).isZero();
+    }
+
+    private static Connection obter(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void aguardarFila(DataSourceComAdmissao admissao, int pedidos) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admissao.getAguardando() < pedidos) {
+            assertThat(System.nanoTime()).isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+}
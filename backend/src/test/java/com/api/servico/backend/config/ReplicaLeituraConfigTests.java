@@ -0,0 +1,159 @@
+package com.api.servico.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.api.servico.backend.dto.ResumoServico;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.service.ServicoService;
+
+/**
+ * Roteamento entre dois H2: o primário do contexto e uma réplica com o mesmo esquema, mas
+ * outras linhas, para que o nome do cliente lido mostre qual banco respondeu. O atraso da
+ * réplica vem da tabela atraso, lida no lugar do SHOW REPLICA STATUS.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_primario;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "servico.replica.habilitada=true",
+        "servico.replica.url=" + ReplicaLeituraConfigTests.URL_REPLICA,
+        "servico.replica.consulta-atraso=SELECT segundos FROM atraso",
+        "servico.replica.atraso-maximo=" + ReplicaLeituraConfigTests.ATRASO_MAXIMO_MILIS + "ms",
+        "servico.replica.verificacao=PT1H" })
+class ReplicaLeituraConfigTests {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:replica_leitura;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    /** Janela pós-escrita; larga o bastante para a gravação e a leitura seguinte caberem nela com a máquina carregada. */
+    static final long ATRASO_MAXIMO_MILIS = 2000;
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLeituraConfig replicaLeituraConfig;
+
+    @Autowired
+    private ServicoService servicoService;
+
+    private DataSourceRoteado roteado;
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void prepararBancos() throws Exception {
+        roteado = dataSource.unwrap(DataSourceRoteado.class);
+        primario = new JdbcTemplate(roteado.getTargetDataSource());
+        replica = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+
+        primario.update("DELETE FROM servico");
+        primario.update(inserirServico(1_000_001, "primario"));
+
+        replica.execute("DROP ALL OBJECTS");
+        for (String comando : primario.queryForList("SCRIPT NODATA", String.class)) {
+            if (!comando.startsWith("CREATE USER")) {
+                replica.execute(comando);
+            }
+        }
+        replica.update(inserirServico(1_000_002, "replica"));
+        replica.execute("CREATE TABLE atraso (segundos BIGINT)");
+        replica.update("INSERT INTO atraso VALUES (0)");
+
+        // Fecha a janela pós-escrita de testes anteriores antes de medir a réplica
+        Thread.sleep(ATRASO_MAXIMO_MILIS);
+        replicaLeituraConfig.verificarReplica();
+        assertThat(roteado.isDisponivel()).isTrue();
+    }
+
+    @Test
+    void transacaoReadOnlyLeDaReplica() {
+        long leiturasReplica = roteado.getLeiturasReplica();
+
+        assertThat(ler()).containsExactly("replica");
+        assertThat(roteado.getLeiturasReplica()).isEqualTo(leiturasReplica + 1);
+    }
+
+    @Test
+    void escritaEJanelaPosEscritaUsamOPrimario() throws InterruptedException {
+        servicoService.inserir(new Servico(null, "gravado", DIA, DIA, "Pintura", 1000L, 0L, null, null));
+
+        assertThat(primario.queryForList("SELECT nome_cliente FROM servico", String.class))
+                .containsExactlyInAnyOrder("primario", "gravado");
+        assertThat(replica.queryForList("SELECT nome_cliente FROM servico", String.class)).containsExactly("replica");
+        long leiturasPrimario = roteado.getLeiturasPrimario();
+        assertThat(ler()).containsExactlyInAnyOrder("primario", "gravado");
+        assertThat(roteado.getLeiturasPrimario()).isEqualTo(leiturasPrimario + 1);
+
+        Thread.sleep(ATRASO_MAXIMO_MILIS + 100);
+
+        assertThat(ler()).containsExactly("replica");
+    }
+
+    @Test
+    void replicaAtrasadaDevolveAsLeiturasAoPrimario() {
+        replica.update("UPDATE atraso SET segundos = 10");
+        replicaLeituraConfig.verificarReplica();
+
+        assertThat(roteado.isDisponivel()).isFalse();
+        assertThat(roteado.getAtrasoSegundos()).isEqualTo(10);
+        assertThat(ler()).containsExactly("primario");
+
+        replica.update("UPDATE atraso SET segundos = 0");
+        replicaLeituraConfig.verificarReplica();
+
+        assertThat(ler()).containsExactly("replica");
+    }
+
+    @Test
+    void replicaComReplicacaoParadaDevolveAsLeiturasAoPrimario() {
+        replica.update("UPDATE atraso SET segundos = NULL");
+        replicaLeituraConfig.verificarReplica();
+
+        assertThat(roteado.isDisponivel()).isFalse();
+        assertThat(ler()).containsExactly("primario");
+    }
+
+    /**
+     * A réplica cai entre duas verificações: a leitura não falha, vai para o primário.
+     */
+    @Test
+    @DirtiesContext
+    void replicaForaDoArDevolveAsLeiturasAoPrimario() throws SQLException {
+        roteado.getReplica().close();
+
+        assertThat(ler()).containsExactly("primario");
+        assertThat(roteado.isDisponivel()).isFalse();
+
+        replicaLeituraConfig.verificarReplica();
+
+        assertThat(roteado.isDisponivel()).isFalse();
+        assertThat(roteado.getAtrasoSegundos()).isEqualTo(-1);
+        assertThat(ler()).containsExactly("primario");
+    }
+
+    private List<String> ler() {
+        return servicoService.buscarServicosPeriodoDataInicio(false, DIA.minusYears(1), DIA.plusYears(1)).stream()
+                .map(ResumoServico::nomeCliente)
+                .toList();
+    }
+
+    /** IDs fora da faixa da sequência, que continua gerando os das gravações pelo serviço. */
+    private static String inserirServico(long id, String nomeCliente) {
+        return "INSERT INTO servico (id, nome_cliente, data_inicio, data_termino, status, versao) VALUES ("
+                + id + ", '" + nomeCliente + "', DATE '" + DIA + "', DATE '" + DIA + "', 1, 0)";
+    }
+}
@@ -0,0 +1,130 @@
+package com.api.servico.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Repetição de escritas com Idempotency-Key e controle de versão na alteração.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:controller_idempotencia;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "servico.limite.chaves=cliente-a,cliente-b" })
+class ServicoControllerIdempotenciaTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void repeticaoDoInserirDevolveOServicoDaPrimeiraVez() {
+        Map<String, Object> servico = Map.of("nomeCliente", "Bia", "valorServico", 10, "dataInicio", "2024-02-01");
+
+        ResponseEntity<Map> primeira = inserir(servico, "inserir-bia");
+        ResponseEntity<Map> repetida = inserir(servico, "inserir-bia");
+
+        assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(repetida.getHeaders().getLocation()).isEqualTo(primeira.getHeaders().getLocation());
+        assertThat(repetida.getBody().get("id")).isEqualTo(primeira.getBody().get("id"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM servico WHERE nome_cliente = 'Bia'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void mesmaChaveComOutroCorpoResponde422() {
+        ResponseEntity<Map> primeira = inserir(Map.of("nomeCliente", "Lia", "valorServico", 10, "dataInicio", "2024-02-01"), "inserir-lia");
+        ResponseEntity<Map> outra = inserir(Map.of("nomeCliente", "Lia", "valorServico", 99, "dataInicio", "2024-02-01"), "inserir-lia");
+
+        assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(outra.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM servico WHERE nome_cliente = 'Lia'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void mesmaChaveDeOutroClienteInsereOutroServico() {
+        Map<String, Object> servico = Map.of("nomeCliente", "Rui", "valorServico", 10, "dataInicio", "2024-02-01");
+
+        ResponseEntity<Map> clienteA = inserir(servico, "inserir-rui", "cliente-a");
+        ResponseEntity<Map> clienteB = inserir(servico, "inserir-rui", "cliente-b");
+        ResponseEntity<Map> repeticaoA = inserir(servico, "inserir-rui", "cliente-a");
+
+        assertThat(clienteB.getBody().get("id")).isNotEqualTo(clienteA.getBody().get("id"));
+        assertThat(repeticaoA.getBody().get("id")).isEqualTo(clienteA.getBody().get("id"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM servico WHERE nome_cliente = 'Rui'", Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void cancelamentoQueFalhouPodeSerRepetidoComAMesmaChave() {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.set("Idempotency-Key", "cancelar-inexistente");
+
+        ResponseEntity<String> resposta = restTemplate.exchange("/api/servicos/cancelarservico/999999", HttpMethod.POST,
+                new HttpEntity<>(null, cabecalhos), String.class);
+        ResponseEntity<String> repetida = restTemplate.exchange("/api/servicos/cancelarservico/999999", HttpMethod.POST,
+                new HttpEntity<>(null, cabecalhos), String.class);
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void alteracaoComVersaoDesatualizadaResponde409() {
+        ResponseEntity<Map> criado = inserir(Map.of("nomeCliente", "Caio", "valorServico", 10, "dataInicio", "2024-02-01"), null);
+        Map<String, Object> lido = restTemplate.getForObject(criado.getHeaders().getLocation(), Map.class);
+
+        Map<String, Object> alteracao = new HashMap<>(lido);
+        alteracao.put("descricaoServico", "Primeira");
+        ResponseEntity<Map> alterado = restTemplate.exchange("/api/servicos", HttpMethod.PUT, new HttpEntity<>(alteracao), Map.class);
+        assertThat(alterado.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((Number) alterado.getBody().get("versao")).longValue())
+                .isGreaterThan(((Number) lido.get("versao")).longValue());
+
+        Map<String, Object> desatualizada = new HashMap<>(lido);
+        desatualizada.put("descricaoServico", "Segunda");
+        ResponseEntity<String> conflito = restTemplate.exchange("/api/servicos", HttpMethod.PUT, new HttpEntity<>(desatualizada), String.class);
+
+        assertThat(conflito.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(jdbcTemplate.queryForObject("SELECT descricao_servico FROM servico WHERE id = ?", String.class, lido.get("id")))
+                .isEqualTo("Primeira");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> inserir(Map<String, Object> servico, String chave) {
+        return inserir(servico, chave, null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> inserir(Map<String, Object> servico, String chave, String chaveApi) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        if (chaveApi != null) {
+            cabecalhos.set(ClienteRequisicao.CABECALHO_CHAVE, chaveApi);
+        }
+        cabecalhos.setContentType(MediaType.APPLICATION_JSON);
+        if (chave != null) {
+            cabecalhos.set("Idempotency-Key", chave);
+        }
+        return restTemplate.exchange("/api/servicos", HttpMethod.POST, new HttpEntity<>(servico, cabecalhos), Map.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.api.servico.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.service.ServicoService;
+
+/**
+ * Cancelamento e reativação pela API: trocas fora da máquina de status respondem 409
+ * e não alteram o serviço.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:controller_status;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ServicoControllerStatusTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServicoService servicoService;
+
+    @Test
+    void cancelarServicoRealizadoResponde409() {
+        Servico realizado = inserir(1000L);
+        assertThat(realizado.getStatus()).isEqualTo(StatusServico.REALIZADO);
+
+        ResponseEntity<String> resposta = post("/api/servicos/cancelarservico/" + realizado.getId());
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(servicoService.buscarPorId(realizado.getId()).getStatus()).isEqualTo(StatusServico.REALIZADO);
+    }
+
+    @Test
+    void cancelarEReativarServicoPendente() {
+        Servico pendente = inserir(0L);
+
+        assertThat(post("/api/servicos/cancelarservico/" + pendente.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servicoService.buscarPorId(pendente.getId()).getStatus()).isEqualTo(StatusServico.CANCELADO);
+
+        assertThat(post("/api/servicos/reativarservico/" + pendente.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servicoService.buscarPorId(pendente.getId()).getStatus()).isEqualTo(StatusServico.PENDENTE);
+    }
+
+    @Test
+    void reativarServicoRealizadoVoltaParaPendente() {
+        Servico realizado = inserir(1000L);
+
+        assertThat(post("/api/servicos/reativarservico/" + realizado.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servicoService.buscarPorId(realizado.getId()).getStatus()).isEqualTo(StatusServico.PENDENTE);
+    }
+
+    /**
+     * Todo status pode voltar a pendente; a reativação só é recusada quando o serviço
+     * mudou desde a versão que o cliente conhece.
+     */
+    @Test
+    void reativarComVersaoDesatualizadaResponde409() {
+        Servico pendente = inserir(0L);
+        Long versaoInicial = pendente.getVersao();
+        assertThat(post("/api/servicos/cancelarservico/" + pendente.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> resposta = post("/api/servicos/reativarservico/" + pendente.getId() + "?versao=" + versaoInicial);
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(servicoService.buscarPorId(pendente.getId()).getStatus()).isEqualTo(StatusServico.CANCELADO);
+    }
+
+    @Test
+    void cancelarComVersaoDesatualizadaResponde409() {
+        Servico pendente = inserir(0L);
+
+        ResponseEntity<String> resposta = post("/api/servicos/cancelarservico/" + pendente.getId() + "?versao=" + (pendente.getVersao() + 1));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(servicoService.buscarPorId(pendente.getId()).getStatus()).isEqualTo(StatusServico.PENDENTE);
+    }
+
+    private Servico inserir(Long valorPago) {
+        LocalDate hoje = LocalDate.now();
+        return servicoService.inserir(new Servico(null, "Maria", hoje, hoje, "Pintura", 1000L, valorPago,
+                valorPago > 0 ? hoje : null, null));
+    }
+
+    private ResponseEntity<String> post(String caminho) {
+        return restTemplate.postForEntity(caminho, null, String.class);
+    }
+}
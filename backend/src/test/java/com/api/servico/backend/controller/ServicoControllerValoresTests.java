@@ -0,0 +1,62 @@
+package com.api.servico.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Valores monetários fora das colunas DECIMAL(15,2) são recusados com 400 antes de chegar ao serviço.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:controller_valores;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ServicoControllerValoresTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void valorComExpoenteEnormeResponde400() {
+        ResponseEntity<String> resposta = inserir("{\"nomeCliente\":\"Bia\",\"dataInicio\":\"2024-02-01\",\"valorServico\":1e99999999}");
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM servico WHERE nome_cliente = 'Bia'", Integer.class)).isZero();
+    }
+
+    @Test
+    void valorComMaisDigitosQueAColunaResponde400() {
+        assertThat(inserir("{\"nomeCliente\":\"Caio\",\"dataInicio\":\"2024-02-01\",\"valorServico\":\"10000000000000\"}").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(inserir("{\"nomeCliente\":\"Caio\",\"dataInicio\":\"2024-02-01\",\"valorServico\":10,\"valorPago\":-1e20}").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void valorNoLimiteDaColunaEGravado() {
+        ResponseEntity<String> resposta = inserir("{\"nomeCliente\":\"Duda\",\"dataInicio\":\"2024-02-01\",\"valorServico\":9999999999999.99}");
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(resposta.getBody()).contains("\"valorServico\":9999999999999.99");
+    }
+
+    private ResponseEntity<String> inserir(String json) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/api/servicos", new HttpEntity<>(json, cabecalhos), String.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.api.servico.backend.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+class CentavosTests {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final CentavosConverter converter = new CentavosConverter();
+
+    @ParameterizedTest
+    @CsvSource({
+            "10.50, 1050",
+            "10.005, 1001",
+            "10.004, 1000",
+            "-10.005, -1001",
+            "-0.004, 0",
+            "0.1, 10",
+            "1E+2, 10000",
+            "9999999999999.99, 999999999999999"
+    })
+    void converteReaisEmCentavosArredondandoMeioParaCima(BigDecimal reais, long centavos) {
+        assertThat(Centavos.deDecimal(reais)).isEqualTo(centavos);
+        assertThat(converter.convertToEntityAttribute(reais)).isEqualTo(centavos);
+    }
+
+    @Test
+    void converterGravaCentavosComDuasCasas() {
+        BigDecimal reais = converter.convertToDatabaseColumn(-1005L);
+        assertThat(reais).isEqualByComparingTo("-10.05");
+        assertThat(reais.scale()).isEqualTo(2);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void deDecimalRecusaExpoenteEnormeSemExpandirONumero() {
+        assertThatThrownBy(() -> Centavos.deDecimal(new BigDecimal("1e99999999")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Centavos.deDecimal(new BigDecimal("-1e99999999")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Centavos.deDecimal(new BigDecimal("99999999999999999.99")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void deDecimalTrataExpoenteNegativoEnormeComoZero() {
+        assertThat(Centavos.deDecimal(new BigDecimal("1e-99999999"))).isZero();
+        assertThat(Centavos.deDecimal(new BigDecimal("-0.0009"))).isZero();
+        assertThat(Centavos.deDecimal(new BigDecimal("0.005"))).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "10.5, 1050",
+            "10.005, 1001",
+            "-10.005, -1001",
+            "7, 700",
+            "1e2, 10000",
+            "9999999999999.99, 999999999999999",
+            "-9999999999999.99, -999999999999999",
+            "1e-99999999, 0"
+    })
+    void desserializaNumero(String json, long centavos) throws Exception {
+        assertThat(valorServico("{\"valorServico\": " + json + "}")).isEqualTo(centavos);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'10.50', 1050",
+            "' 10.005 ', 1001",
+            "'-3', -300"
+    })
+    void desserializaTexto(String texto, long centavos) throws Exception {
+        assertThat(valorServico("{\"valorServico\": \"" + texto + "\"}")).isEqualTo(centavos);
+    }
+
+    @Test
+    void desserializaTextoVazioENuloComoNulo() throws Exception {
+        assertThat(valorServico("{\"valorServico\": \" \"}")).isNull();
+        assertThat(valorServico("{\"valorServico\": null}")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1e99999999", "-1e99999999", "10000000000000", "9999999999999.995", "1e13" })
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void recusaNumeroForaDaColuna(String json) {
+        assertThatThrownBy(() -> valorServico("{\"valorServico\": " + json + "}"))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("at most 13 integer digits");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1e99999999", "10000000000000", "abc", "10,50" })
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void recusaTextoInvalidoOuForaDaColuna(String texto) {
+        assertThatThrownBy(() -> valorServico("{\"valorServico\": \"" + texto + "\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void recusaTextoLongoSemConverter() {
+        String texto = "9".repeat(100_000);
+        assertThatThrownBy(() -> valorServico("{\"valorServico\": \"" + texto + "\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void serializaEmReais() throws Exception {
+        Servico servico = new Servico();
+        servico.setValorServico(-1005L);
+        servico.setValorPago(7L);
+
+        String json = mapper.writeValueAsString(servico);
+
+        assertThat(json).contains("\"valorServico\":-10.05").contains("\"valorPago\":0.07");
+    }
+
+    private Long valorServico(String json) throws Exception {
+        return mapper.readValue(json, Servico.class).getValorServico();
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.service.exceptions.IndiceEmCargaException;
+
+/**
+ * A carga do índice fica presa até o teste liberá-la: a aplicação já aceita tráfego e a busca
+ * responde que o índice ainda está em carga.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:carga_inicial;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class CargaInicialServiceTests {
+
+    private static final CountDownLatch LIBERAR_CARGA = new CountDownLatch(1);
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    @Autowired
+    private ServicoService servicoService;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @TestConfiguration
+    static class CargaPresa {
+
+        @Bean
+        static BeanPostProcessor prenderCarga() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nome) {
+                    if (!(bean instanceof IndiceBuscaService indice)) {
+                        return bean;
+                    }
+                    IndiceBuscaService preso = spy(indice);
+                    doAnswer(invocacao -> {
+                        LIBERAR_CARGA.await(10, TimeUnit.SECONDS);
+                        return invocacao.callRealMethod();
+                    }).when(preso).carregar();
+                    return preso;
+                }
+            };
+        }
+    }
+
+    @Test
+    void prontidaoNaoEsperaACargaDoIndice() throws Exception {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        LocalDate dia = LocalDate.of(2024, 3, 1);
+        servicoService.inserir(new Servico(null, "Marta", dia, dia.plusDays(5), "Reboco", 1000L, 0L, null, null));
+        assertThatThrownBy(() -> indiceBuscaService.buscar("marta", PageRequest.of(0, 10)))
+                .isInstanceOf(IndiceEmCargaException.class);
+
+        LIBERAR_CARGA.countDown();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                // O serviço inserido durante a carga aparece na busca
+                assertThat(indiceBuscaService.buscar("marta", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+                break;
+            } catch (IndiceEmCargaException e) {
+                assertThat(System.nanoTime()).isLessThan(limite);
+                Thread.sleep(10);
+            }
+        }
+    }
+}
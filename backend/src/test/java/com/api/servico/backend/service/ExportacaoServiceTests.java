@@ -0,0 +1,93 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.servico.backend.entity.Servico;
+
+/**
+ * A exportação chega ao arquivo pelo mesmo buffer de {@link TarefaExportacaoService}: a
+ * quantidade de escritas e descargas no destino deve depender do volume de bytes e das
+ * descargas periódicas, nunca da quantidade de linhas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportacao;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ExportacaoServiceTests {
+
+    private static final int LINHAS = 1200;
+    private static final int LINHAS_POR_DESCARGA = 500;
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void inserirServicos() {
+        jdbcTemplate.update("DELETE FROM servico");
+        List<Servico> servicos = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            servicos.add(new Servico(null, "Cliente " + i, DIA, DIA.plusDays(5), "Pintura", 1000L, 0L, null, null));
+        }
+        loteService.inserir(servicos);
+    }
+
+    @ParameterizedTest
+    @EnumSource(FormatoExportacao.class)
+    void escritasEDescargasNaoCrescemComAsLinhas(FormatoExportacao formato) throws Exception {
+        DestinoContado destino = new DestinoContado();
+
+        try (OutputStream out = new BufferedOutputStream(destino, TarefaExportacaoService.TAMANHO_BUFFER)) {
+            long linhas = exportacaoService.exportar(CampoData.INICIO, DIA, DIA, formato, out);
+            assertThat(linhas).isEqualTo(LINHAS);
+        }
+
+        // Uma descarga na primeira linha, uma a cada LINHAS_POR_DESCARGA e a do encerramento
+        int descargasEsperadas = 1 + LINHAS / LINHAS_POR_DESCARGA + 1;
+        assertThat(destino.descargas).isBetween(descargasEsperadas, descargasEsperadas + 1);
+        assertThat(destino.escritas)
+                .isLessThanOrEqualTo(destino.descargas + (int) (destino.bytes / TarefaExportacaoService.TAMANHO_BUFFER) + 1);
+    }
+
+    /** Conta as chamadas que chegariam ao canal do arquivo. */
+    private static final class DestinoContado extends OutputStream {
+
+        private int escritas;
+        private int descargas;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            escritas++;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            escritas++;
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            descargas++;
+        }
+    }
+}
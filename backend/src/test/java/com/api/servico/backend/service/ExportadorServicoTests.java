@@ -0,0 +1,115 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class ExportadorServicoTests {
+
+    private static final int LINHAS = 1000;
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /**
+     * O exportador só descarrega quando pedido; entre as descargas, as linhas se acumulam
+     * no buffer do formato e chegam ao destino em poucas escritas grandes.
+     */
+    @ParameterizedTest
+    @EnumSource(FormatoExportacao.class)
+    void naoDescarregaACadaLinha(FormatoExportacao formato) throws Exception {
+        SaidaContada saida = new SaidaContada();
+        ExportadorServico exportador = ExportadorServico.criar(formato, mapper, saida);
+
+        for (long id = 1; id <= LINHAS; id++) {
+            exportador.escrever(servico(id, "Cliente " + id));
+        }
+
+        assertThat(saida.descargas).isZero();
+        assertThat(saida.escritas).isLessThan(LINHAS / 10);
+
+        exportador.descarregar();
+        exportador.finalizar();
+
+        assertThat(saida.descargas).isBetween(1, 2);
+        String texto = saida.toString(StandardCharsets.UTF_8);
+        switch (formato) {
+            case CSV, NDJSON -> assertThat(texto.lines()).hasSize(formato == FormatoExportacao.CSV ? LINHAS + 1 : LINHAS);
+            case JSON -> assertThat(mapper.readTree(texto)).hasSize(LINHAS);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "=HYPERLINK(\"x\")| \"'=HYPERLINK(\"\"x\"\")\"",
+            "+55 11 9999| \"'+55 11 9999\"",
+            "-2+3| \"'-2+3\"",
+            "@SUM(A1)| \"'@SUM(A1)\"",
+            "Maria| \"Maria\"",
+            "a=b| \"a=b\""
+    })
+    void csvNeutralizaTextoQueComecaComoFormula(String nomeCliente, String celula) throws Exception {
+        SaidaContada saida = new SaidaContada();
+        ExportadorServico exportador = ExportadorServico.criar(FormatoExportacao.CSV, mapper, saida);
+
+        exportador.escrever(servico(7L, nomeCliente));
+        exportador.finalizar();
+
+        String linha = saida.toString(StandardCharsets.UTF_8).lines().skip(1).findFirst().orElseThrow();
+        assertThat(linha).startsWith("7;" + celula.strip() + ";");
+    }
+
+    @Test
+    void csvMantemValoresNegativosComoNumeros() throws Exception {
+        SaidaContada saida = new SaidaContada();
+        ExportadorServico exportador = ExportadorServico.criar(FormatoExportacao.CSV, mapper, saida);
+        Servico servico = servico(8L, "Ana");
+        servico.setValorPago(-150L);
+
+        exportador.escrever(servico);
+        exportador.finalizar();
+
+        assertThat(saida.toString(StandardCharsets.UTF_8)).contains(";10.00;-1.50;");
+    }
+
+    private static Servico servico(long id, String nomeCliente) {
+        return new Servico(id, nomeCliente, DIA, DIA.plusDays(5), "Pintura", 1000L, 0L, null, StatusServico.PENDENTE);
+    }
+
+    /** Guarda o que foi escrito e conta as chamadas que chegam ao destino. */
+    private static final class SaidaContada extends ByteArrayOutputStream {
+
+        private int escritas;
+        private int descargas;
+
+        @Override
+        public synchronized void write(int b) {
+            escritas++;
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            escritas++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            descargas++;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.servico.backend.service.exceptions.ChaveIdempotenciaInvalidaException;
+import com.api.servico.backend.service.exceptions.ChaveIdempotenciaReutilizadaException;
+import com.api.servico.backend.service.exceptions.RequisicaoEmAndamentoException;
+import com.api.servico.backend.service.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IdempotenciaServiceTests {
+
+    private static final String CLIENTE = "ip:10.0.0.1";
+
+    private final IdempotenciaService service = new IdempotenciaService(100, Duration.ofMinutes(1), new ObjectMapper());
+
+    @Test
+    void repeticaoDevolveOPrimeiroResultado() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        String primeiro = service.executar("abc", CLIENTE, "inserir", "corpo", () -> "servico-" + execucoes.incrementAndGet());
+        String repetido = service.executar("abc", CLIENTE, "inserir", "corpo", () -> "servico-" + execucoes.incrementAndGet());
+
+        assertThat(primeiro).isEqualTo("servico-1");
+        assertThat(repetido).isSameAs(primeiro);
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void repeticaoDeOperacaoSemRetornoNaoExecutaDeNovo() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        service.executar("abc", CLIENTE, "cancelar/5", "corpo", execucoes::incrementAndGet);
+        service.executar("abc", CLIENTE, "cancelar/5", "corpo", execucoes::incrementAndGet);
+
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void mesmaChaveEmOperacoesDiferentesExecutaCadaUma() {
+        assertThat(service.executar("abc", CLIENTE, "cancelar/5", "corpo", () -> 5)).isEqualTo(5);
+        assertThat(service.executar("abc", CLIENTE, "cancelar/6", "corpo", () -> 6)).isEqualTo(6);
+    }
+
+    @Test
+    void semChaveExecutaSempre() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        service.executar(null, CLIENTE, "inserir", "corpo", execucoes::incrementAndGet);
+        service.executar(null, CLIENTE, "inserir", "corpo", execucoes::incrementAndGet);
+
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    void duplicataConcorrenteRecebeConflito() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> service.executar("abc", CLIENTE, "inserir", "corpo", () -> {
+            iniciou.countDown();
+            aguardar(liberar);
+            return "primeira";
+        }));
+        assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.executar("abc", CLIENTE, "inserir", "corpo", () -> "duplicata"))
+                .isInstanceOf(RequisicaoEmAndamentoException.class);
+
+        liberar.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("primeira");
+        assertThat(service.executar("abc", CLIENTE, "inserir", "corpo", () -> "depois")).isEqualTo("primeira");
+    }
+
+    @Test
+    void operacaoQueFalhaNaoERegistradaEPodeSerRepetida() {
+        assertThatThrownBy(() -> service.executar("abc", CLIENTE, "cancelar/5", "corpo", () -> {
+            throw new ResourceNotFoundException(5L);
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(service.executar("abc", CLIENTE, "cancelar/5", "corpo", () -> "repetida")).isEqualTo("repetida");
+    }
+
+    @Test
+    void recusaChaveVaziaOuLongaDemais() {
+        assertThatThrownBy(() -> service.executar(" ", CLIENTE, "inserir", "corpo", () -> "x"))
+                .isInstanceOf(ChaveIdempotenciaInvalidaException.class);
+        assertThatThrownBy(() -> service.executar("x".repeat(256), CLIENTE, "inserir", "corpo", () -> "x"))
+                .isInstanceOf(ChaveIdempotenciaInvalidaException.class);
+    }
+
+    @Test
+    void mesmaChaveDeOutroClienteExecutaDeNovo() {
+        assertThat(service.executar("abc", CLIENTE, "inserir", "corpo", () -> "primeiro")).isEqualTo("primeiro");
+        assertThat(service.executar("abc", "ip:10.0.0.2", "inserir", "corpo", () -> "segundo")).isEqualTo("segundo");
+        assertThat(service.executar("abc", "chave:k1", "inserir", "corpo", () -> "terceiro")).isEqualTo("terceiro");
+    }
+
+    @Test
+    void repeticaoComOutraRequisicaoERecusada() {
+        AtomicInteger execucoes = new AtomicInteger();
+        service.executar("abc", CLIENTE, "inserir", Map.of("nomeCliente", "Bia", "valorServico", 10), execucoes::incrementAndGet);
+
+        assertThatThrownBy(() -> service.executar("abc", CLIENTE, "inserir", Map.of("nomeCliente", "Bia", "valorServico", 99),
+                execucoes::incrementAndGet))
+                .isInstanceOf(ChaveIdempotenciaReutilizadaException.class);
+        assertThat(execucoes).hasValue(1);
+
+        // A mesma requisição continua recebendo o resultado registrado
+        assertThat(service.executar("abc", CLIENTE, "inserir", Map.of("nomeCliente", "Bia", "valorServico", 10), () -> 2))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void requisicaoDiferenteDuranteAPrimeiraExecucaoERecusada() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> service.executar("abc", CLIENTE, "cancelar/5", 1L, () -> {
+            iniciou.countDown();
+            aguardar(liberar);
+            return "primeira";
+        }));
+        assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.executar("abc", CLIENTE, "cancelar/5", 2L, () -> "outra"))
+                .isInstanceOf(ChaveIdempotenciaReutilizadaException.class);
+
+        liberar.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("primeira");
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LimiteRequisicoesServiceTests {
+
+    private static final Duration INATIVIDADE = Duration.ofMillis(100);
+
+    /** Balde de uma ficha que enche em 1 ms: a inatividade vale a configurada. */
+    private final LimiteRequisicoesService service = new LimiteRequisicoesService(1, 1000, 1, 100, INATIVIDADE);
+
+    @Test
+    void cotaComRequisicaoEmAndamentoSobreviveAInatividade() throws InterruptedException {
+        LimiteRequisicoesService.Cota cota = service.cota("ip:10.0.0.1");
+        assertThat(cota.entrar()).isTrue();
+
+        Thread.sleep(INATIVIDADE.multipliedBy(3).toMillis());
+
+        LimiteRequisicoesService.Cota depois = service.cota("ip:10.0.0.1");
+        assertThat(depois).isSameAs(cota);
+        assertThat(depois.entrar()).isFalse();
+        assertThat(service.getRecusadasSimultaneas()).isEqualTo(1);
+    }
+
+    @Test
+    void cotaExpiraDepoisDaUltimaRequisicaoTerminar() throws InterruptedException {
+        LimiteRequisicoesService.Cota cota = service.cota("ip:10.0.0.2");
+        assertThat(cota.entrar()).isTrue();
+        Thread.sleep(INATIVIDADE.multipliedBy(3).toMillis());
+        cota.sair();
+
+        Thread.sleep(INATIVIDADE.multipliedBy(3).toMillis());
+
+        LimiteRequisicoesService.Cota nova = service.cota("ip:10.0.0.2");
+        assertThat(nova).isNotSameAs(cota);
+        assertThat(nova.entrar()).isTrue();
+    }
+
+    @Test
+    void cotaOciosaContinuaAteOFimDaInatividade() {
+        LimiteRequisicoesService.Cota cota = service.cota("ip:10.0.0.3");
+        assertThat(cota.entrar()).isTrue();
+        cota.sair();
+
+        assertThat(service.cota("ip:10.0.0.3")).isSameAs(cota);
+    }
+}
@@ -0,0 +1,75 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.service.exceptions.TransicaoStatusInvalidaException;
+
+class MaquinaStatusTests {
+
+    @ParameterizedTest
+    @CsvSource({
+            "PENDENTE, PENDENTE, true",
+            "PENDENTE, REALIZADO, true",
+            "PENDENTE, CANCELADO, true",
+            "REALIZADO, PENDENTE, true",
+            "REALIZADO, REALIZADO, false",
+            "REALIZADO, CANCELADO, false",
+            "CANCELADO, PENDENTE, true",
+            "CANCELADO, REALIZADO, false",
+            "CANCELADO, CANCELADO, false"
+    })
+    void permiteApenasAsTrocasDaMaquina(StatusServico atual, StatusServico destino, boolean permitida) {
+        assertThat(MaquinaStatus.permitida(atual, destino)).isEqualTo(permitida);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StatusServico.class, names = { "PENDENTE", "REALIZADO" })
+    void servicoNovoPodeSerPendenteOuRealizado(StatusServico inicial) {
+        assertThat(MaquinaStatus.permitida(null, inicial)).isTrue();
+        assertThatNoException().isThrownBy(() -> MaquinaStatus.validar(null, null, inicial));
+    }
+
+    @Test
+    void servicoNovoNaoPodeNascerCancelado() {
+        assertThat(MaquinaStatus.permitida(null, StatusServico.CANCELADO)).isFalse();
+        assertThatThrownBy(() -> MaquinaStatus.validar(null, null, StatusServico.CANCELADO))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessageContaining("cannot go from null to " + StatusServico.CANCELADO.getNome());
+    }
+
+    @Test
+    void validarRecusaTrocaNaoPermitida() {
+        assertThatThrownBy(() -> MaquinaStatus.validar(7L, StatusServico.REALIZADO, StatusServico.CANCELADO))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessageContaining("Id 7");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StatusServico.class, names = { "REALIZADO", "CANCELADO" })
+    void alteracaoExigeServicoPendente(StatusServico atual) {
+        assertThatThrownBy(() -> MaquinaStatus.validarAlteracao(7L, atual, StatusServico.PENDENTE))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessageContaining("cannot be changed");
+    }
+
+    @ParameterizedTest
+    @EnumSource(StatusServico.class)
+    void servicoPendentePodeSerAlteradoParaQualquerStatus(StatusServico destino) {
+        assertThatNoException().isThrownBy(() -> MaquinaStatus.validarAlteracao(7L, StatusServico.PENDENTE, destino));
+    }
+
+    @Test
+    void origensSaoOsStatusQuePodemIrParaODestino() {
+        assertThat(MaquinaStatus.origens(StatusServico.CANCELADO)).containsExactly(StatusServico.PENDENTE);
+        assertThat(MaquinaStatus.origens(StatusServico.PENDENTE))
+                .containsExactlyInAnyOrder(StatusServico.REALIZADO, StatusServico.CANCELADO);
+    }
+}
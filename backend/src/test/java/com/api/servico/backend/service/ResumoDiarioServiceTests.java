@@ -0,0 +1,170 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.servico.backend.dto.SituacaoServico;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.entity.StatusServico;
+import com.api.servico.backend.repository.ServicoRepository;
+import com.api.servico.backend.service.exceptions.ConflitoVersaoException;
+
+/**
+ * O resumo diário mantido pelas escritas deve ser igual ao recalculado da tabela servico.
+ * Linhas com quantidade zero ficam no resumo depois que o último serviço sai do dia e
+ * status; os relatórios as ignoram, e a comparação também.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resumo_diario;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ResumoDiarioServiceTests {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private ServicoService servicoService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private AlteradorStatus alteradorStatus;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM servico");
+        resumoDiarioService.reconstruir();
+    }
+
+    @Test
+    void resumoIncrementalIgualAoReconstruido() {
+        Servico pago = inserir("Maria", 1000L, 1000L, DIA);
+        Servico parcial = inserir("José", 2000L, 500L, DIA.plusDays(1));
+        Servico pendente = inserir("Ana", 3000L, 0L, null);
+        Servico pendenteComData = inserir("Caio", 4000L, 0L, DIA);
+        assertThat(resumo()).hasSize(3);
+        assertResumoIgualAoReconstruido();
+
+        Servico gravado = servicoService.buscarPorId(pendente.getId());
+        Servico alteracao = new Servico(gravado.getId(), "Ana", gravado.getDataInicio(), gravado.getDataTermino(),
+                "Pintura", 3500L, 1500L, null, null);
+        alteracao.setVersao(gravado.getVersao());
+        servicoService.alterar(alteracao);
+        assertThat(servicoService.buscarPorId(pendente.getId()).getStatus()).isEqualTo(StatusServico.REALIZADO);
+        assertResumoIgualAoReconstruido();
+
+        servicoService.cancelarServico(pendenteComData.getId(), null);
+        assertResumoIgualAoReconstruido();
+
+        servicoService.reativarServico(pago.getId(), null);
+        servicoService.reativarServico(pendenteComData.getId(), null);
+        assertResumoIgualAoReconstruido();
+
+        servicoService.excluir(parcial.getId());
+        servicoService.excluir(pendente.getId());
+        assertResumoIgualAoReconstruido();
+    }
+
+    @Test
+    void resumoIncrementalIgualAoReconstruidoNasOperacoesEmLote() {
+        loteService.inserir(List.of(
+                novo("Maria", 1000L, 1000L, DIA),
+                novo("José", 2000L, 0L, DIA),
+                novo("Ana", 3000L, 3000L, DIA.plusDays(2))));
+        assertResumoIgualAoReconstruido();
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM servico ORDER BY id", Long.class);
+        loteService.cancelar(ids);
+        assertResumoIgualAoReconstruido();
+
+        loteService.reativar(ids);
+        assertResumoIgualAoReconstruido();
+    }
+
+    @Test
+    void trocaDeStatusComVersaoAjustaOResumoPelaSituacaoLida() {
+        Servico pago = inserir("Maria", 1000L, 1000L, DIA);
+
+        servicoService.reativarServico(pago.getId(), 0L);
+        assertResumoIgualAoReconstruido();
+        servicoService.cancelarServico(pago.getId(), 1L);
+        assertResumoIgualAoReconstruido();
+
+        assertThatThrownBy(() -> servicoService.reativarServico(pago.getId(), 1L))
+                .isInstanceOf(ConflitoVersaoException.class);
+        assertThat(servicoService.buscarPorId(pago.getId()).getStatus()).isEqualTo(StatusServico.CANCELADO);
+        assertResumoIgualAoReconstruido();
+    }
+
+    /**
+     * Outra transação altera o serviço entre a leitura da situação e o UPDATE condicionado à
+     * versão: nada é alterado, nem o serviço nem o resumo.
+     */
+    @Test
+    void escritaEntreALeituraEOUpdateNaoAlteraOServico() {
+        Servico parcial = inserir("José", 2000L, 500L, DIA);
+        List<Map<String, Object>> antes = resumo();
+
+        Boolean alterado = transactionTemplate.execute(status -> {
+            SituacaoServico lida = servicoRepository.buscarSituacao(parcial.getId()).orElseThrow();
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "UPDATE servico SET versao = versao + 1 WHERE id = ?", parcial.getId())).join();
+            return alteradorStatus.aplicarSeInalterada(TransicaoStatus.REATIVAR, lida);
+        });
+
+        assertThat(alterado).isFalse();
+        assertThat(servicoService.buscarPorId(parcial.getId()).getStatus()).isEqualTo(parcial.getStatus());
+        assertThat(resumo()).isEqualTo(antes);
+    }
+
+    private Servico inserir(String nomeCliente, Long valorServico, Long valorPago, LocalDate dataPagamento) {
+        return servicoService.inserir(novo(nomeCliente, valorServico, valorPago, dataPagamento));
+    }
+
+    private static Servico novo(String nomeCliente, Long valorServico, Long valorPago, LocalDate dataPagamento) {
+        return new Servico(null, nomeCliente, DIA.minusDays(10), DIA.plusDays(10), "Pintura", valorServico, valorPago,
+                dataPagamento, null);
+    }
+
+    /**
+     * Compara o resumo atual com o recalculado por {@link ResumoDiarioService#reconstruir()},
+     * que passa a ser o ponto de partida das próximas escritas.
+     */
+    private void assertResumoIgualAoReconstruido() {
+        List<Map<String, Object>> incremental = resumo();
+        resumoDiarioService.reconstruir();
+        assertThat(incremental).isEqualTo(resumo());
+    }
+
+    private List<Map<String, Object>> resumo() {
+        return jdbcTemplate.queryForList("""
+                SELECT data, status, quantidade, total_servico, total_pago
+                  FROM resumo_diario
+                 WHERE quantidade > 0
+                 ORDER BY data, status
+                """);
+    }
+}
@@ -0,0 +1,115 @@
+package com.api.servico.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.servico.backend.config.CacheConfig;
+import com.api.servico.backend.entity.Servico;
+import com.api.servico.backend.repository.ServicoRepository;
+import com.api.servico.backend.service.exceptions.ConflitoVersaoException;
+
+/**
+ * O cache de serviços individuais guarda a versão confirmada pelas escritas e não volta a uma
+ * versão anterior lida por uma consulta concorrente.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:servico_cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ServicoServiceCacheTests {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private ServicoService servicoService;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache servicos;
+
+    @BeforeEach
+    void limpar() {
+        servicos = cacheManager.getCache(CacheConfig.SERVICOS);
+        servicos.clear();
+    }
+
+    @Test
+    void alteracaoGravaAVersaoConfirmadaNoCache() {
+        Servico inserido = inserir("Maria");
+        assertThat(servicoService.buscarPorId(inserido.getId()).getVersao()).isZero();
+
+        servicoService.alterar(alteracao(inserido.getId(), "Maria Souza", 0L));
+
+        Servico emCache = servicos.get(inserido.getId(), Servico.class);
+        assertThat(emCache.getNomeCliente()).isEqualTo("Maria Souza");
+        assertThat(emCache.getVersao()).isEqualTo(1L);
+    }
+
+    /**
+     * A leitura não encontra o serviço no cache e lê a versão 0; antes de gravá-la, outra thread
+     * altera o serviço. A gravação atrasada da leitura não pode substituir a versão 1.
+     */
+    @Test
+    void leituraAtrasadaNaoSobrescreveAAlteracao() {
+        Long id = inserir("José").getId();
+
+        assertThat(servicos.get(id)).isNull();
+        Servico lido = servicoRepository.findById(id).orElseThrow();
+        CompletableFuture.runAsync(() -> servicoService.alterar(alteracao(id, "José Lima", 0L))).join();
+        servicos.put(id, lido);
+
+        assertThat(servicoService.buscarPorId(id).getNomeCliente()).isEqualTo("José Lima");
+        assertThat(servicoService.buscarPorId(id).getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void leituraAtrasadaNaoSobrescreveATrocaDeStatus() {
+        Long id = inserir("Ana").getId();
+
+        assertThat(servicos.get(id)).isNull();
+        Servico lido = servicoRepository.findById(id).orElseThrow();
+        CompletableFuture.runAsync(() -> servicoService.cancelarServico(id, 0L)).join();
+        servicos.put(id, lido);
+
+        assertThat(servicoService.buscarPorId(id).getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void conflitoDeVersaoRemoveOServicoDoCache() {
+        Long id = inserir("Caio").getId();
+        Servico antigo = servicoService.buscarPorId(id);
+        jdbcTemplate.update("UPDATE servico SET versao = versao + 1 WHERE id = ?", id); // Escrita fora do serviço
+
+        assertThatThrownBy(() -> servicoService.alterar(alteracao(id, "Caio Alves", antigo.getVersao())))
+                .isInstanceOf(ConflitoVersaoException.class);
+
+        assertThat(servicos.get(id)).isNull();
+        assertThat(servicoService.buscarPorId(id).getVersao()).isEqualTo(1L);
+    }
+
+    private Servico inserir(String nomeCliente) {
+        return servicoService.inserir(new Servico(null, nomeCliente, DIA, DIA.plusDays(5), "Pintura", 1000L, 0L, null, null));
+    }
+
+    private static Servico alteracao(Long id, String nomeCliente, Long versao) {
+        Servico servico = new Servico(id, nomeCliente, DIA, DIA.plusDays(5), "Pintura", 1000L, 0L, null, null);
+        servico.setVersao(versao);
+        return servico;
+    }
+}
@@ -0,0 +1,110 @@
+package db.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Aplica a V1 e a V1.1 pelo Flyway, com a linha de base da aplicação (versão 0), sobre cópias
+ * dos esquemas que o ddl-auto=update deixou antes das migrations.
+ */
+class VersaoServicoMigracaoTests {
+
+    /** Tabela como o ddl-auto=update a criava antes do controle de versão. */
+    private static final String SERVICO_SEM_VERSAO = """
+            CREATE TABLE servico (
+                id                BIGINT       NOT NULL AUTO_INCREMENT,
+                nome_cliente      VARCHAR(255),
+                data_inicio       DATE,
+                data_termino      DATE,
+                descricao_servico VARCHAR(255),
+                valor_servico     DOUBLE,
+                valor_pago        DOUBLE,
+                data_pagamento    DATE,
+                status            VARCHAR(255),
+                PRIMARY KEY (id)
+            )
+            """;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void criarBanco() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void adicionaVersaoQuandoATabelaNaoTemAColuna() {
+        jdbcTemplate.execute(SERVICO_SEM_VERSAO);
+        jdbcTemplate.update("INSERT INTO servico (nome_cliente, status) VALUES ('Maria', 'pendente'), ('José', 'realizado')");
+
+        migrar();
+
+        assertThat(versoes()).containsExactly(0L, 0L);
+        assertColunaObrigatoriaComPadrao();
+    }
+
+    @Test
+    void preencheVersoesNulasETornaAColunaObrigatoria() {
+        jdbcTemplate.execute(SERVICO_SEM_VERSAO);
+        jdbcTemplate.execute("ALTER TABLE servico ADD COLUMN versao BIGINT");
+        jdbcTemplate.update("INSERT INTO servico (nome_cliente, status, versao) VALUES ('Maria', 'pendente', NULL), ('José', 'realizado', 3)");
+
+        migrar();
+
+        assertThat(versoes()).containsExactly(0L, 3L);
+        assertColunaObrigatoriaComPadrao();
+    }
+
+    @Test
+    void mantemAColunaCriadaPelaV1() {
+        jdbcTemplate.execute(SERVICO_SEM_VERSAO);
+        jdbcTemplate.execute("ALTER TABLE servico ADD COLUMN versao BIGINT NOT NULL DEFAULT 0");
+        jdbcTemplate.update("INSERT INTO servico (nome_cliente, status, versao) VALUES ('Maria', 'pendente', 5)");
+
+        migrar();
+
+        assertThat(versoes()).containsExactly(5L);
+        assertColunaObrigatoriaComPadrao();
+    }
+
+    private void migrar() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .target("1.1")
+                .load()
+                .migrate();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE version = '1.1' AND success", Integer.class))
+                .isEqualTo(1);
+    }
+
+    private List<Long> versoes() {
+        return jdbcTemplate.queryForList("SELECT versao FROM servico ORDER BY id", Long.class);
+    }
+
+    private void assertColunaObrigatoriaComPadrao() {
+        jdbcTemplate.update("INSERT INTO servico (nome_cliente, status) VALUES ('Ana', 'pendente')");
+        assertThat(jdbcTemplate.queryForObject("SELECT versao FROM servico WHERE nome_cliente = 'Ana'", Long.class))
+                .isZero();
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE servico SET versao = NULL WHERE nome_cliente = 'Ana'"))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasCauseInstanceOf(SQLException.class);
+    }
+}
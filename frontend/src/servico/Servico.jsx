@@ -1,12 +1,41 @@
 import '../App.css';
-import React, { useEffect, useState } from 'react';
+import React, { useEffect, useRef, useState } from 'react';
 import axios from 'axios'
 import CsvDownloadButton from 'react-json-to-csv'
 import ReactPaginate from 'react-paginate'
 import { toast, ToastContainer } from 'react-toastify';
 
+const baseURL = 'http://localhost:8080/api/servicos'
+// As listagens devolvem só as colunas pedidas; o serviço completo vem de /{id}
+const campos = 'fields=id,nomeCliente,descricaoServico,valorServico,dataInicio,status'
+
+const caminhosPaginados = {
+    Todos: '',
+    Pendentes: '/pagamentopendente',
+    Realizados: '/realizados',
+    Cancelados: '/cancelados'
+}
+
+const caminhosPeriodo = {
+    dataInicio: '/iniciopordata',
+    dataTermino: '/terminopordata',
+    dataPagamento: '/pagospordata'
+}
+
+/**
+ * Monta a URL de uma consulta: uma das listagens paginadas, com a página,
+ * ou um período pelo tipo de data escolhido.
+ * @param {*} consulta 
+ * @returns 
+ */
+function urlConsulta(consulta) {
+    if (consulta.tipo === 'Periodo') {
+        return baseURL + caminhosPeriodo[consulta.dateOf] + "?startDate=" + consulta.startDate + "&endDate=" + consulta.endDate + "&" + campos
+    }
+    return baseURL + caminhosPaginados[consulta.tipo] + "?page=" + consulta.pagina + "&size=15&" + campos
+}
+
 function Servico() {
-    const baseURL = 'http://localhost:8080/api/servicos'
 
     const [totalPaginas, setTotalPaginas] = useState();
     const [itemsPage, setItemsPage] = useState([]);
@@ -15,18 +44,37 @@ function Servico() {
     const [servicos, setServicos] = useState([]);
     const [atualizar, setAtualizar] = useState();
 
-    const [tipoPagina, setTipoPagina] = useState('')
+    // Consulta exibida na tabela (filtro, período e página); as recargas repetem esta consulta
+    const consultaAtual = useRef({ tipo: 'Todos', pagina: 0 })
+
+    /**
+     * Busca e exibe a consulta informada, que passa a ser a consulta atual.
+     * Respostas de consultas já substituídas por outra são descartadas.
+     * @param {*} consulta 
+     */
+    const consultar = (consulta) => {
+        consultaAtual.current = consulta;
+        axios.get(urlConsulta(consulta))
+            .then(result => {
+                if (consultaAtual.current !== consulta) {
+                    return;
+                }
+                if (Array.isArray(result.data)) {
+                    setServicos(result.data);
+                } else {
+                    setServicos(result.data.content);
+                    setTotalPaginas(result.data.totalPages)
+                }
+            })
+            .catch(error => {
+                console.error('Erro ao obter dados:', error);
+            });
+    }
 
     const handlePageClick = (data) => {
-        if (tipoPagina === 'Pendentes') {
-            handleServicosPendentes(data.selected);
-        } else if (tipoPagina === 'Realizados') {
-            handleServicosRealizados(data.selected);
-        } else if (tipoPagina === 'Cancelados') {
-            handleServicosCancelados(data.selected);
-        } else if (tipoPagina === 'Todos') {
-            handleListarTodos(data.selected);
-        }0
+        if (consultaAtual.current.tipo !== 'Periodo') {
+            consultar({ ...consultaAtual.current, pagina: data.selected });
+        }
     }
 
     const handleForcePageZero = () => {
@@ -49,6 +97,9 @@ function Servico() {
         dateOf: ''
     }])
 
+    // Chave de idempotência do preenchimento atual do formulário; trocada só depois de gravá-lo
+    const chaveIdempotencia = useRef(null)
+
     const handleChange = (event) => {
         setServico({ ...servico, [event.target.name]: event.target.value })
     }
@@ -78,6 +129,11 @@ function Servico() {
                 .then(result => {
                     setAtualizar(result)
                 })
+                .catch(error => {
+                    if (error.response && error.response.status === 409) {
+                        toast.error("O serviço foi alterado por outro usuário. Recarregue-o antes de salvar.");
+                    }
+                })
             setServico({
                 nomeCliente: '',
                 dataInicio: '',
@@ -89,35 +145,52 @@ function Servico() {
             })
         } else {
             console.log("Inserindo")
-            axios.post(baseURL, servico)
+            // Reenvios do mesmo formulário, após uma falha, repetem a chave e não duplicam o serviço
+            if (!chaveIdempotencia.current) {
+                chaveIdempotencia.current = crypto.randomUUID();
+            }
+            axios.post(baseURL, servico, { headers: { 'Idempotency-Key': chaveIdempotencia.current } })
                 .then(result => {
+                    limpar()
                     setAtualizar(result)
                 })
-            setServico({
-                nomeCliente: '',
-                dataInicio: '',
-                dataTermino: '',
-                descricaoServico: '',
-                valorServico: '',
-                valorPago: '',
-                dataPagamento: ''
-            })
+                .catch(error => {
+                    if (error.response && error.response.status === 422) {
+                        // O envio anterior com esta chave foi gravado, e o formulário mudou desde então
+                        toast.error("Este serviço já foi gravado. Confira a listagem antes de enviá-lo de novo.");
+                        limpar()
+                        setAtualizar(Date.now())
+                    }
+                })
         }
     }
 
-    useEffect((paginaAtual) => {
-        axios.get(baseURL + "?page=" + paginaAtual + "&size=15") // ?page=0&size=15
-            .then(result => {
-                setServicos(result.data.content);
-                setTotalPaginas(result.data.totalPages)
-                setTipoPagina('Todos')
-            })
-            .catch(error => {
-                console.error('Erro ao obter dados:', error);
-            });
+    // Carga inicial e recargas depois de escritas e eventos, sem perder filtro, período e página
+    useEffect(() => {
+        consultar(consultaAtual.current)
     }, [atualizar]);
 
 
+    /**
+     * Recarrega a consulta atual quando o servidor avisa de alterações (/stream), em vez de
+     * consultar periodicamente. Rajadas de eventos geram uma única recarga.
+     */
+    useEffect(() => {
+        const feed = new EventSource(baseURL + '/stream');
+        let agendada;
+        const recarregar = () => {
+            clearTimeout(agendada);
+            agendada = setTimeout(() => setAtualizar(Date.now()), 500);
+        };
+        feed.addEventListener('alteracao', recarregar);
+        feed.addEventListener('reset', recarregar);
+        return () => {
+            clearTimeout(agendada);
+            feed.close();
+        };
+    }, []);
+
+
     /**
      * Responsável por formatar a moeda.
      * @param {*} valor 
@@ -141,7 +214,13 @@ function Servico() {
     }
 
     const handleAlterar = (srv) => {
-        setServico(srv);
+        axios.get(baseURL + "/" + srv.id)
+            .then(result => {
+                setServico(result.data);
+            })
+            .catch(error => {
+                console.error('Erro ao obter dados:', error);
+            });
     };
 
     const handleCancelar = (srv) => {
@@ -165,7 +244,11 @@ function Servico() {
             })
     };
 
+    /**
+     * Limpa o formulário e inicia um novo preenchimento, com outra chave de idempotência.
+     */
     const limpar = () => {
+        chaveIdempotencia.current = null;
         setServico({
             nomeCliente: '',
             dataInicio: '',
@@ -178,82 +261,26 @@ function Servico() {
     }
 
     const handleServicosPendentes = (paginaAtual) => {
-        axios.get(baseURL + "/pagamentopendente" + "?page=" + paginaAtual + "&size=15") // ?size=5&page=2
-            .then(result => {
-                setServicos(result.data.content);
-                setTotalPaginas(result.data.totalPages)
-                setTipoPagina('Pendentes')
-            })
-            .catch(error => {
-                console.error('Erro ao obter dados:', error);
-            });
+        consultar({ tipo: 'Pendentes', pagina: paginaAtual || 0 })
     }
 
     const handleServicosRealizados = (paginaAtual) => {
-        axios.get(baseURL + "/realizados" + "?page=" + paginaAtual + "&size=15") // ?size=5&page=2
-            .then(result => {
-                setServicos(result.data.content);
-                setTotalPaginas(result.data.totalPages)
-                setTipoPagina('Realizados')
-            })
-            .catch(error => {
-                console.error('Erro ao obter dados:', error);
-            });
+        consultar({ tipo: 'Realizados', pagina: paginaAtual || 0 })
     }
 
     const handleServicosCancelados = (paginaAtual) => {
-        axios.get(baseURL + "/cancelados" + "?page=" + paginaAtual + "&size=15") // ?size=5&page=2
-            .then(result => {
-                setServicos(result.data.content);
-                setTotalPaginas(result.data.totalPages)
-                setTipoPagina('Cancelados')
-            })
-            .catch(error => {
-                console.error('Erro ao obter dados:', error);
-            });
+        consultar({ tipo: 'Cancelados', pagina: paginaAtual || 0 })
     }
 
     const handleListarTodos = (paginaAtual) => {
-        axios.get(baseURL + "?page=" + paginaAtual + "&size=15") // ?size=5&page=2
-            .then(result => {
-                setServicos(result.data.content);
-                setTotalPaginas(result.data.totalPages)
-                setTipoPagina('Todos')
-            })
-            .catch(error => {
-                console.error('Erro ao obter dados:', error);
-            });
+        consultar({ tipo: 'Todos', pagina: paginaAtual || 0 })
     }
 
     const hanbleConsultaPagosData = (event) => {
         event.preventDefault()
 
-        if (datas.dateOf == 'dataInicio') {
-            axios.get(baseURL + "/iniciopordata?startDate=" + datas.startDate + "&endDate=" + datas.endDate)
-                .then(result => {
-                    setServicos(result.data);
-                })
-                .catch(error => {
-                    console.error('Erro ao obter dados:', error);
-                });
-        }
-        else if (datas.dateOf == 'dataTermino') {
-            axios.get(baseURL + "/terminopordata?startDate=" + datas.startDate + "&endDate=" + datas.endDate)
-                .then(result => {
-                    setServicos(result.data);
-                })
-                .catch(error => {
-                    console.error('Erro ao obter dados:', error);
-                });
-        }
-        else if (datas.dateOf == 'dataPagamento') {
-            axios.get(baseURL + "/pagospordata?startDate=" + datas.startDate + "&endDate=" + datas.endDate)
-                .then(result => {
-                    setServicos(result.data);
-                })
-                .catch(error => {
-                    console.error('Erro ao obter dados:', error);
-                });
+        if (caminhosPeriodo[datas.dateOf]) {
+            consultar({ tipo: 'Periodo', dateOf: datas.dateOf, startDate: datas.startDate, endDate: datas.endDate })
         }
         else {
             handleListarTodos();
@@ -329,7 +356,7 @@ function Servico() {
 
             <div className="col-12 mt-3">
                 <button onClick={() => limpar()} className='btn btn-secondary m-2 rounded-0 p-2'>Limpar</button>
-                <button onClick={() => handleServicosPendentesRecarregar()} className='btn btn-secondary m-2 rounded-0 p-2'>Pendentes de Pagamento</button>
+                <button onClick={() => handleServicosPendentes()} className='btn btn-secondary m-2 rounded-0 p-2'>Pendentes de Pagamento</button>
                 <button onClick={() => handleServicosRealizados()} className='btn btn-secondary m-2 rounded-0 p-2'>Realizados</button>
                 <button onClick={() => handleServicosCancelados()} className='btn btn-secondary m-2 rounded-0 p-2'>Cancelados</button>
                 <button onClick={() => handleListarTodos()} className='btn btn-secondary m-2 rounded-0 p-2'>Listar Todos</button>
@@ -0,0 +1,153 @@
+import { act, fireEvent, render, screen } from '@testing-library/react';
+import axios from 'axios';
+import Servico from './Servico';
+
+jest.mock('axios', () => ({
+    get: jest.fn(),
+    post: jest.fn(),
+    put: jest.fn(),
+    delete: jest.fn()
+}));
+
+/**
+ * Substitui o EventSource do navegador: guarda os ouvintes de cada feed
+ * para que o teste emita os eventos do servidor.
+ */
+class EventSourceFalso {
+    constructor(url) {
+        this.url = url;
+        this.ouvintes = {};
+        this.fechado = false;
+        EventSourceFalso.instancias.push(this);
+    }
+
+    addEventListener(tipo, ouvinte) {
+        this.ouvintes[tipo] = (this.ouvintes[tipo] || []).concat(ouvinte);
+    }
+
+    emitir(tipo) {
+        (this.ouvintes[tipo] || []).forEach(ouvinte => ouvinte({ type: tipo }));
+    }
+
+    close() {
+        this.fechado = true;
+    }
+}
+
+const feed = () => EventSourceFalso.instancias[EventSourceFalso.instancias.length - 1];
+
+const consultasFeitas = () => axios.get.mock.calls.map(chamada => chamada[0]);
+
+const aguardarRespostas = () => act(async () => { });
+
+beforeEach(() => {
+    jest.useFakeTimers();
+    EventSourceFalso.instancias = [];
+    global.EventSource = EventSourceFalso;
+    axios.get.mockReset();
+    axios.get.mockImplementation(url => Promise.resolve({
+        data: url.includes('pordata') ? [] : { content: [], totalPages: 3 }
+    }));
+});
+
+afterEach(() => {
+    jest.useRealTimers();
+    delete global.EventSource;
+});
+
+test('carrega a primeira página de todos os serviços ao abrir', async () => {
+    render(<Servico />);
+    await aguardarRespostas();
+
+    expect(consultasFeitas()).toEqual([expect.stringContaining('/api/servicos?page=0&size=15&')]);
+    expect(feed().url).toBe('http://localhost:8080/api/servicos/stream');
+});
+
+test('evento do servidor recarrega o filtro e a página exibidos', async () => {
+    render(<Servico />);
+    await aguardarRespostas();
+
+    fireEvent.click(screen.getByText('Cancelados'));
+    await aguardarRespostas();
+    fireEvent.click(screen.getByText('2'));
+    await aguardarRespostas();
+    expect(consultasFeitas()).toContainEqual(expect.stringContaining('/cancelados?page=1&size=15&'));
+
+    axios.get.mockClear();
+    act(() => {
+        feed().emitir('alteracao');
+        feed().emitir('alteracao');
+        jest.advanceTimersByTime(500);
+    });
+    await aguardarRespostas();
+
+    // A rajada gera uma única recarga, da mesma consulta
+    expect(consultasFeitas()).toEqual([expect.stringContaining('/cancelados?page=1&size=15&')]);
+});
+
+test('evento do servidor recarrega o período consultado', async () => {
+    const { container } = render(<Servico />);
+    await aguardarRespostas();
+
+    fireEvent.change(screen.getByRole('combobox'), { target: { name: 'dateOf', value: 'dataTermino' } });
+    fireEvent.change(container.querySelector('input[name=startDate]'), { target: { name: 'startDate', value: '2024-01-01' } });
+    fireEvent.change(container.querySelector('input[name=endDate]'), { target: { name: 'endDate', value: '2024-01-31' } });
+    fireEvent.click(screen.getByDisplayValue('Buscar'));
+    await aguardarRespostas();
+
+    axios.get.mockClear();
+    act(() => {
+        feed().emitir('reset');
+        jest.advanceTimersByTime(500);
+    });
+    await aguardarRespostas();
+
+    // O formulário de datas foi limpo após a busca, mas a recarga repete o período
+    expect(consultasFeitas()).toEqual([expect.stringContaining('/terminopordata?startDate=2024-01-01&endDate=2024-01-31&')]);
+});
+
+test('fecha o feed ao sair da tela', async () => {
+    const { unmount } = render(<Servico />);
+    await aguardarRespostas();
+
+    unmount();
+
+    expect(feed().fechado).toBe(true);
+});
+
+test('reenvio após falha repete a chave de idempotência, e a gravação inicia outra', async () => {
+    const cryptoOriginal = global.crypto;
+    Object.defineProperty(global, 'crypto', {
+        configurable: true,
+        value: { randomUUID: jest.fn().mockReturnValueOnce('chave-1').mockReturnValueOnce('chave-2') }
+    });
+    axios.post.mockReset();
+    axios.post.mockRejectedValueOnce(new Error('Network Error')).mockResolvedValue({ data: { id: 1 } });
+    const preencher = () => {
+        fireEvent.change(screen.getByLabelText('Nome do Cliente'), { target: { value: 'Bia' } });
+        fireEvent.change(screen.getByLabelText('Data de Início'), { target: { value: '2024-02-01' } });
+        fireEvent.change(screen.getByLabelText('Valor do Serviço'), { target: { value: '10' } });
+    };
+    const chavesEnviadas = () => axios.post.mock.calls.map(chamada => chamada[2].headers['Idempotency-Key']);
+
+    try {
+        render(<Servico />);
+        await aguardarRespostas();
+
+        preencher();
+        fireEvent.click(screen.getByDisplayValue('Gravar'));
+        await aguardarRespostas();
+        // A falha mantém o formulário preenchido, e o reenvio usa a mesma chave
+        fireEvent.click(screen.getByDisplayValue('Gravar'));
+        await aguardarRespostas();
+        expect(screen.getByLabelText('Nome do Cliente')).toHaveValue('');
+
+        preencher();
+        fireEvent.click(screen.getByDisplayValue('Gravar'));
+        await aguardarRespostas();
+
+        expect(chavesEnviadas()).toEqual(['chave-1', 'chave-1', 'chave-2']);
+    } finally {
+        Object.defineProperty(global, 'crypto', { configurable: true, value: cryptoOriginal });
+    }
+});